@@ -0,0 +1,81 @@
+package com.example.crud_school.benchmark;
+
+import com.example.crud_school.entity.Class;
+import com.example.crud_school.entity.School;
+import com.example.crud_school.entity.Student;
+import com.example.crud_school.entity.Subject;
+import com.example.crud_school.entity.Teacher;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Writes a deterministic dataset through JPA. Names and addresses are derived from the school
+ * number, so search selectivity is the same across runs: "School 00042" in "Ward 2, City 42"
+ * for 50 distinct cities.
+ */
+class DatasetSeeder {
+    
+    static final int CITIES = 50;
+    static final int TEACHERS_PER_SCHOOL = 5;
+    static final int SUBJECTS_PER_SCHOOL = 8;
+    static final int CLASSES_PER_SCHOOL = 4;
+    
+    // Schools written per transaction; each carries a few dozen child rows
+    private static final int SCHOOLS_PER_TRANSACTION = 50;
+    
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    
+    DatasetSeeder(ApplicationContext context) {
+        this.entityManager = context.getBean(EntityManager.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+    
+    void seed(int schools, int studentsPerSchool) {
+        for (int from = 0; from < schools; from += SCHOOLS_PER_TRANSACTION) {
+            int start = from;
+            int end = Math.min(from + SCHOOLS_PER_TRANSACTION, schools);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = start; i < end; i++) {
+                    seedSchool(i, studentsPerSchool);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+    
+    private void seedSchool(int n, int studentsPerSchool) {
+        String key = String.format("%05d", n);
+        School school = new School("School " + key, "Benchmark school " + key,
+                "Ward " + (n / CITIES) + ", City " + (n % CITIES), "+1-555-" + key, "office" + key + "@bench.edu");
+        entityManager.persist(school);
+        
+        for (int t = 0; t < TEACHERS_PER_SCHOOL; t++) {
+            Teacher teacher = new Teacher("Teacher" + t, "Of" + key, LocalDate.of(1980, 1, 1), null,
+                    "t" + t + "." + key + "@bench.edu", null, null, "E" + key + "-" + t, LocalDate.of(2015, 9, 1));
+            teacher.setSchool(school);
+            entityManager.persist(teacher);
+        }
+        for (int s = 0; s < SUBJECTS_PER_SCHOOL; s++) {
+            Subject subject = new Subject("Subject " + s, null, "S" + key + s, 3);
+            subject.setSchool(school);
+            entityManager.persist(subject);
+        }
+        for (int c = 0; c < CLASSES_PER_SCHOOL; c++) {
+            Class clazz = new Class("Class " + c, "C" + key + c, null, 9 + c, 2024, null);
+            clazz.setSchool(school);
+            entityManager.persist(clazz);
+        }
+        for (int s = 0; s < studentsPerSchool; s++) {
+            Student student = new Student("Student" + s, "Of" + key, LocalDate.of(2008, 1, 1), null,
+                    "s" + s + "." + key + "@bench.edu", null);
+            student.setSchool(school);
+            entityManager.persist(student);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.crud_school.benchmark;
+
+import com.example.crud_school.entity.Enrollment;
+import com.example.crud_school.repository.EnrollmentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EnrollmentRepository lookups against three index layouts on the enrollments table:
+ * {@code composite} is the mapped scheme, {@code single} drops the (student_id, status) and
+ * (subject_id, status) indexes, and {@code none} also drops the foreign keys and every
+ * secondary index, leaving only the primary key.
+ * <p>
+ * The {@code uniform} dataset gives every student and subject at most a few dozen enrollments.
+ * {@code skewed} adds a few hub subjects that every student takes, almost all COMPLETED, and
+ * queries those subjects for the rare DROPPED status: the case a (subject_id, status) index is for.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnrollmentIndexBenchmark {
+    
+    private static final String[] STATUSES = {"ENROLLED", "COMPLETED", "DROPPED", "FAILED"};
+    
+    // Skewed dataset: hub subjects, and one in DROPPED_EVERY of their enrollments is DROPPED
+    private static final int HUB_SUBJECTS = 5;
+    private static final int DROPPED_EVERY = 100;
+    
+    /**
+     * Enrolls every seeded student in each subject of their school, with the status spread
+     * evenly over {@link #STATUSES}, then reshapes the indexes for the {@code indexes} param.
+     */
+    @State(Scope.Benchmark)
+    public static class IndexedEnrollments {
+        
+        @Param({"composite", "single", "none"})
+        public String indexes;
+        
+        @Param({"uniform", "skewed"})
+        public String dataset;
+        
+        long[] studentIds;
+        long[] subjectIds;
+        String[] statuses;
+        
+        @Setup(Level.Trial)
+        public void setUp(SeededApplication application) {
+            JdbcTemplate jdbc = application.bean(JdbcTemplate.class);
+            jdbc.update("INSERT INTO enrollments (id, student_id, subject_id, class_id, enrollment_date, status, created_at) " +
+                    "SELECT NEXT VALUE FOR enrollment_seq, st.id, sub.id, st.class_id, DATE '2024-09-01', " +
+                    "CASE MOD(st.id + sub.id, 4) WHEN 0 THEN 'ENROLLED' WHEN 1 THEN 'COMPLETED' " +
+                    "WHEN 2 THEN 'DROPPED' ELSE 'FAILED' END, CURRENT_TIMESTAMP " +
+                    "FROM students st JOIN subjects sub ON sub.school_id = st.school_id");
+            if (dataset.equals("skewed")) {
+                // The first subject of each of the first schools becomes a hub; their own students already take it
+                jdbc.update("INSERT INTO enrollments (id, student_id, subject_id, class_id, enrollment_date, status, created_at) " +
+                        "SELECT NEXT VALUE FOR enrollment_seq, st.id, hub.id, st.class_id, DATE '2024-09-01', " +
+                        "CASE WHEN MOD(st.id, " + DROPPED_EVERY + ") = 0 THEN 'DROPPED' ELSE 'COMPLETED' END, CURRENT_TIMESTAMP " +
+                        "FROM students st JOIN (SELECT school_id, MIN(id) AS id FROM subjects GROUP BY school_id " +
+                        "ORDER BY school_id LIMIT " + HUB_SUBJECTS + ") hub ON hub.school_id <> st.school_id");
+            }
+            
+            if (!indexes.equals("composite")) {
+                jdbc.execute("DROP INDEX idx_enrollments_student_status");
+                jdbc.execute("DROP INDEX idx_enrollments_subject_status");
+            }
+            if (indexes.equals("none")) {
+                for (String constraint : jdbc.queryForList("SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                        "WHERE TABLE_NAME = 'ENROLLMENTS' AND CONSTRAINT_TYPE = 'FOREIGN KEY'", String.class)) {
+                    jdbc.execute("ALTER TABLE enrollments DROP CONSTRAINT " + constraint);
+                }
+                for (String index : jdbc.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES " +
+                        "WHERE TABLE_NAME = 'ENROLLMENTS' AND INDEX_TYPE_NAME <> 'PRIMARY KEY'", String.class)) {
+                    jdbc.execute("DROP INDEX " + index);
+                }
+            }
+            jdbc.execute("ANALYZE");
+            
+            studentIds = jdbc.queryForList("SELECT id FROM students", Long.class).stream().mapToLong(Long::longValue).toArray();
+            if (dataset.equals("skewed")) {
+                subjectIds = jdbc.queryForList("SELECT MIN(id) FROM subjects GROUP BY school_id ORDER BY school_id LIMIT "
+                        + HUB_SUBJECTS, Long.class).stream().mapToLong(Long::longValue).toArray();
+                statuses = new String[] {"DROPPED"};
+            } else {
+                subjectIds = jdbc.queryForList("SELECT id FROM subjects", Long.class).stream().mapToLong(Long::longValue).toArray();
+                statuses = STATUSES;
+            }
+        }
+    }
+    
+    private EnrollmentRepository enrollmentRepository;
+    private long[] studentIds;
+    private long[] subjectIds;
+    private String[] statuses;
+    
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application, IndexedEnrollments enrollments) {
+        enrollmentRepository = application.bean(EnrollmentRepository.class);
+        studentIds = enrollments.studentIds;
+        subjectIds = enrollments.subjectIds;
+        statuses = enrollments.statuses;
+    }
+    
+    @Benchmark
+    public List<Enrollment> findByStudentIdAndStatus() {
+        return enrollmentRepository.findByStudentIdAndStatus(pick(studentIds), status(statuses));
+    }
+    
+    @Benchmark
+    public List<Enrollment> findBySubjectIdAndStatus() {
+        return enrollmentRepository.findBySubjectIdAndStatus(pick(subjectIds), status(statuses));
+    }
+    
+    @Benchmark
+    public List<Enrollment> findByStudentId() {
+        return enrollmentRepository.findByStudentId(pick(studentIds));
+    }
+    
+    @Benchmark
+    public long countByStatus() {
+        return enrollmentRepository.countByStatus(status(statuses));
+    }
+    
+    private static long pick(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+    
+    private static String status(String[] statuses) {
+        return statuses[ThreadLocalRandom.current().nextInt(statuses.length)];
+    }
+}
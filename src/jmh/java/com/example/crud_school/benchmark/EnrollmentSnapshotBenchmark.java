@@ -0,0 +1,94 @@
+package com.example.crud_school.benchmark;
+
+import com.example.crud_school.analytics.EnrollmentColumns;
+import com.example.crud_school.analytics.EnrollmentFilter;
+import com.example.crud_school.analytics.EnrollmentSnapshot;
+import com.example.crud_school.dto.EnrollmentStatisticsDto;
+import com.example.crud_school.entity.Enrollment;
+import com.example.crud_school.repository.EnrollmentRepository;
+import com.example.crud_school.service.AnalyticsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-subject enrollment aggregates three ways: from the columnar {@link EnrollmentSnapshot},
+ * through {@link AnalyticsService} (snapshot plus one label query), and by loading every
+ * {@link Enrollment} entity and aggregating in Java, as a client-side dashboard would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnrollmentSnapshotBenchmark {
+    
+    private EnrollmentSnapshot snapshot;
+    private AnalyticsService analyticsService;
+    private EnrollmentRepository enrollmentRepository;
+    private EnrollmentFilter all;
+    private EnrollmentFilter completedInFirstSchool;
+    
+    /**
+     * Enrolls every seeded student in each subject of their school, in the first class of the
+     * school, with a spread of statuses, scores and grades. The rows are written with JDBC, so
+     * the snapshot is rebuilt afterwards.
+     */
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        JdbcTemplate jdbc = application.bean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO enrollments (id, student_id, subject_id, class_id, enrollment_date, status, score, grade, created_at) " +
+                "SELECT NEXT VALUE FOR enrollment_seq, st.id, sub.id, " +
+                "(SELECT MIN(c.id) FROM classes c WHERE c.school_id = st.school_id), DATE '2024-09-01', " +
+                "CASE MOD(st.id + sub.id, 4) WHEN 0 THEN 'ENROLLED' WHEN 1 THEN 'COMPLETED' " +
+                "WHEN 2 THEN 'DROPPED' ELSE 'FAILED' END, " +
+                "CASE WHEN MOD(st.id + sub.id, 4) = 0 THEN NULL ELSE MOD(st.id * 7 + sub.id * 13, 101) END, " +
+                "CASE WHEN MOD(st.id + sub.id, 4) = 0 THEN NULL ELSE SUBSTRING('FFFFFDCBAAA', MOD(st.id * 7 + sub.id * 13, 101) / 10 + 1, 1) END, " +
+                "CURRENT_TIMESTAMP FROM students st JOIN subjects sub ON sub.school_id = st.school_id");
+        
+        snapshot = application.bean(EnrollmentSnapshot.class);
+        snapshot.rebuild();
+        analyticsService = application.bean(AnalyticsService.class);
+        enrollmentRepository = application.bean(EnrollmentRepository.class);
+        all = new EnrollmentFilter();
+        completedInFirstSchool = new EnrollmentFilter(jdbc.queryForObject("SELECT MIN(id) FROM schools", Long.class), null);
+        completedInFirstSchool.setStatus("COMPLETED");
+    }
+    
+    @Benchmark
+    public List<EnrollmentStatisticsDto> snapshotBySubject() {
+        return snapshot.aggregate(EnrollmentColumns.GroupBy.SUBJECT, all);
+    }
+    
+    @Benchmark
+    public List<EnrollmentStatisticsDto> snapshotBySchool() {
+        return snapshot.aggregate(EnrollmentColumns.GroupBy.SCHOOL, all);
+    }
+    
+    @Benchmark
+    public List<EnrollmentStatisticsDto> snapshotFiltered() {
+        return snapshot.aggregate(EnrollmentColumns.GroupBy.SUBJECT, completedInFirstSchool);
+    }
+    
+    @Benchmark
+    public List<EnrollmentStatisticsDto> serviceBySubject() {
+        return analyticsService.getEnrollmentStatistics(AnalyticsService.Dimension.SUBJECT, all);
+    }
+    
+    @Benchmark
+    public Map<Long, Double> entitiesBySubject() {
+        return enrollmentRepository.findAll().stream()
+                .filter(enrollment -> enrollment.getScore() != null)
+                .collect(Collectors.groupingBy(enrollment -> enrollment.getSubject().getId(),
+                        Collectors.averagingDouble(Enrollment::getScore)));
+    }
+}
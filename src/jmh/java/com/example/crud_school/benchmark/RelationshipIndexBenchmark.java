@@ -0,0 +1,112 @@
+package com.example.crud_school.benchmark;
+
+import com.example.crud_school.entity.Student;
+import com.example.crud_school.relationship.RelationshipIndex;
+import com.example.crud_school.repository.EnrollmentRepository;
+import com.example.crud_school.repository.StudentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Relationship fan-out and membership answered by {@link RelationshipIndex} against the
+ * repository queries that load the entities to read the same IDs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RelationshipIndexBenchmark {
+    
+    private static final int PAGE_SIZE = 500;
+    
+    private RelationshipIndex relationshipIndex;
+    private StudentRepository studentRepository;
+    private EnrollmentRepository enrollmentRepository;
+    private long[] schoolIds;
+    private long[] studentIds;
+    private long[] subjectIds;
+    
+    /**
+     * Enrolls every seeded student in each subject of their school with JDBC, so the index is
+     * rebuilt afterwards.
+     */
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        JdbcTemplate jdbc = application.bean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO enrollments (id, student_id, subject_id, class_id, enrollment_date, status, created_at) " +
+                "SELECT NEXT VALUE FOR enrollment_seq, st.id, sub.id, st.class_id, DATE '2024-09-01', 'ENROLLED', " +
+                "CURRENT_TIMESTAMP FROM students st JOIN subjects sub ON sub.school_id = st.school_id");
+        
+        relationshipIndex = application.bean(RelationshipIndex.class);
+        relationshipIndex.rebuild();
+        studentRepository = application.bean(StudentRepository.class);
+        enrollmentRepository = application.bean(EnrollmentRepository.class);
+        schoolIds = ids(jdbc, "SELECT id FROM schools");
+        studentIds = ids(jdbc, "SELECT id FROM students");
+        subjectIds = ids(jdbc, "SELECT id FROM subjects");
+    }
+    
+    @Benchmark
+    public long[] indexStudentsOfSchool() {
+        return relationshipIndex.getStudentsOfSchool(pick(schoolIds));
+    }
+    
+    // The repository only reads a school's students a page at a time, so this walks every page
+    @Benchmark
+    public long[] repositoryStudentsOfSchool() {
+        long schoolId = pick(schoolIds);
+        LongStream.Builder ids = LongStream.builder();
+        List<Student> page;
+        long after = 0L;
+        do {
+            page = studentRepository.findBySchoolIdAndIdGreaterThanOrderByIdAsc(schoolId, after, Limit.of(PAGE_SIZE));
+            for (Student student : page) {
+                ids.add(student.getId());
+                after = student.getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        return ids.build().toArray();
+    }
+    
+    @Benchmark
+    public long[] indexSubjectsOfStudent() {
+        return relationshipIndex.getSubjectsOfStudent(pick(studentIds));
+    }
+    
+    @Benchmark
+    public long[] repositorySubjectsOfStudent() {
+        return enrollmentRepository.findByStudentId(pick(studentIds)).stream()
+                .mapToLong(enrollment -> enrollment.getSubject().getId())
+                .distinct().sorted().toArray();
+    }
+    
+    @Benchmark
+    public boolean indexIsEnrolled() {
+        return relationshipIndex.isEnrolled(pick(studentIds), pick(subjectIds));
+    }
+    
+    @Benchmark
+    public boolean repositoryIsEnrolled() {
+        return !enrollmentRepository.findByStudentIdAndSubjectId(pick(studentIds), pick(subjectIds)).isEmpty();
+    }
+    
+    private static long[] ids(JdbcTemplate jdbc, String sql) {
+        return jdbc.queryForList(sql, Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+    
+    private static long pick(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
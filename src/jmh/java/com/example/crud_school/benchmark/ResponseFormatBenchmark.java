@@ -0,0 +1,129 @@
+package com.example.crud_school.benchmark;
+
+import com.example.crud_school.controller.SchoolController;
+import com.example.crud_school.dto.SchoolDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One page of {@code GET /api/schools} encoded by the converters the MVC chain picks for
+ * HAL JSON, Smile and CBOR, with and without gzip at the default level Tomcat uses. Setup
+ * prints the encoded size of the page in each format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseFormatBenchmark {
+    
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    
+    @Param({"50", "500"})
+    public int pageSize;
+    
+    private ObjectWriter halJson;
+    private ObjectWriter smile;
+    private ObjectWriter cbor;
+    private CollectionModel<EntityModel<SchoolDto>> page;
+    
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/schools");
+        request.setServerPort(7070);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        
+        page = application.bean(SchoolController.class)
+                .getAllSchools(null, pageSize, null, new ServletWebRequest(request)).getBody();
+        halJson = writer(application, MediaTypes.HAL_JSON);
+        smile = writer(application, SMILE);
+        cbor = writer(application, CBOR);
+        System.out.printf("%n%d schools: hal+json %d B (gzip %d B), smile %d B (gzip %d B), cbor %d B (gzip %d B)%n",
+                page.getContent().size(), halJson().length, halJsonGzip().length,
+                smile().length, smileGzip().length, cbor().length, cborGzip().length);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+    
+    @Benchmark
+    public byte[] halJson() throws IOException {
+        return halJson.writeValueAsBytes(page);
+    }
+    
+    @Benchmark
+    public byte[] smile() throws IOException {
+        return smile.writeValueAsBytes(page);
+    }
+    
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cbor.writeValueAsBytes(page);
+    }
+    
+    @Benchmark
+    public byte[] halJsonGzip() throws IOException {
+        return gzip(halJson);
+    }
+    
+    @Benchmark
+    public byte[] smileGzip() throws IOException {
+        return gzip(smile);
+    }
+    
+    @Benchmark
+    public byte[] cborGzip() throws IOException {
+        return gzip(cbor);
+    }
+    
+    private byte[] gzip(ObjectWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            writer.writeValue(gzip, page);
+        }
+        return bytes.toByteArray();
+    }
+    
+    private static ObjectWriter writer(SeededApplication application, MediaType mediaType) {
+        return application.bean(RequestMappingHandlerAdapter.class).getMessageConverters().stream()
+                .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .map(AbstractJackson2HttpMessageConverter.class::cast)
+                .filter(converter -> converter.canWrite(CollectionModel.class, mediaType))
+                .findFirst()
+                .map(converter -> objectMapper(converter, mediaType))
+                .orElseThrow()
+                .writer();
+    }
+    
+    // Spring HATEOAS registers its HAL mapper on the JSON converter for representation models only
+    private static ObjectMapper objectMapper(AbstractJackson2HttpMessageConverter converter, MediaType mediaType) {
+        return converter.getObjectMappersForType(CollectionModel.class)
+                .getOrDefault(mediaType, converter.getObjectMapper());
+    }
+}
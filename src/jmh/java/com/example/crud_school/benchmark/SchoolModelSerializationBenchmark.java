@@ -0,0 +1,110 @@
+package com.example.crud_school.benchmark;
+
+import com.example.crud_school.controller.SchoolController;
+import com.example.crud_school.controller.SchoolLinks;
+import com.example.crud_school.dto.SchoolDto;
+import com.example.crud_school.service.SchoolService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * HATEOAS link building and JSON serialization of {@code EntityModel<SchoolDto>}, using the
+ * ObjectMapper the MVC converter chain picks for a JSON response. Links are built against a
+ * mock request bound to the benchmark thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchoolModelSerializationBenchmark {
+    
+    private SchoolController schoolController;
+    private SchoolLinks links;
+    private ObjectWriter writer;
+    private SchoolDto school;
+    private EntityModel<SchoolDto> model;
+    private ServletWebRequest webRequest;
+    
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/schools");
+        request.setServerPort(7070);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        webRequest = new ServletWebRequest(request);
+        
+        schoolController = application.bean(SchoolController.class);
+        links = application.bean(SchoolLinks.class);
+        writer = mvcObjectMapper(application).writer();
+        school = application.bean(SchoolService.class).getSchoolsPage(null, 1).get(0);
+        model = buildModel();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+    
+    @Benchmark
+    public EntityModel<SchoolDto> buildModel() {
+        return EntityModel.of(school, links.self(school.getId()), links.collection());
+    }
+    
+    // The per-item linkTo(methodOn(...)) construction SchoolLinks replaced, kept for comparison
+    @Benchmark
+    public EntityModel<SchoolDto> buildModelWithLinkBuilder() {
+        return EntityModel.of(school,
+                linkTo(methodOn(SchoolController.class).getSchoolById(school.getId(), null, null)).withSelfRel().expand(),
+                linkTo(SchoolController.class).withRel("schools"));
+    }
+    
+    @Benchmark
+    public byte[] serializeModel() throws Exception {
+        return writer.writeValueAsBytes(model);
+    }
+    
+    @Benchmark
+    public byte[] buildAndSerializeModel() throws Exception {
+        return writer.writeValueAsBytes(buildModel());
+    }
+    
+    @Benchmark
+    public byte[] controllerFirstPage() throws Exception {
+        CollectionModel<EntityModel<SchoolDto>> page = schoolController.getAllSchools(null, 50, null, webRequest).getBody();
+        return writer.writeValueAsBytes(page);
+    }
+    
+    private static ObjectMapper mvcObjectMapper(SeededApplication application) {
+        List<?> converters = application.bean(RequestMappingHandlerAdapter.class).getMessageConverters();
+        return converters.stream()
+                .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .map(AbstractJackson2HttpMessageConverter.class::cast)
+                .filter(converter -> converter.canWrite(EntityModel.class, MediaType.APPLICATION_JSON))
+                .findFirst()
+                .map(converter -> converter.getObjectMappersForType(EntityModel.class)
+                        .getOrDefault(MediaType.APPLICATION_JSON, converter.getObjectMapper()))
+                .orElseThrow();
+    }
+}
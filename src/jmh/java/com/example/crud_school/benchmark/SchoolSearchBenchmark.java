@@ -0,0 +1,83 @@
+package com.example.crud_school.benchmark;
+
+import com.example.crud_school.dto.SchoolDto;
+import com.example.crud_school.dto.SchoolSummary;
+import com.example.crud_school.repository.SchoolRepository;
+import com.example.crud_school.service.SchoolService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository search queries next to the index-backed service searches. Name queries match
+ * about 1 school in 100 ("School 000" + two digits), city queries 1 in {@value DatasetSeeder#CITIES}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchoolSearchBenchmark {
+    
+    private SchoolRepository schoolRepository;
+    private SchoolService schoolService;
+    private int schools;
+    
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        schoolRepository = application.bean(SchoolRepository.class);
+        schoolService = application.bean(SchoolService.class);
+        schools = application.schools;
+    }
+    
+    @Benchmark
+    public List<SchoolSummary> repositoryFirstSummaryPage() {
+        return schoolRepository.findSummariesAfter(0L, Limit.of(50));
+    }
+    
+    @Benchmark
+    public List<SchoolSummary> repositoryNameContaining() {
+        return schoolRepository.findSummariesByNameContaining(nameFragment());
+    }
+    
+    @Benchmark
+    public List<SchoolSummary> repositoryByCity() {
+        return schoolRepository.findSummariesByCity(city());
+    }
+    
+    @Benchmark
+    public Optional<SchoolSummary> repositorySummaryByName() {
+        return schoolRepository.findSummaryByName(exactName());
+    }
+    
+    @Benchmark
+    public List<SchoolDto> serviceSearchByName() {
+        return schoolService.searchSchoolsByName(nameFragment());
+    }
+    
+    @Benchmark
+    public List<SchoolDto> serviceByCity() {
+        return schoolService.getSchoolsByCity(city());
+    }
+    
+    private String exactName() {
+        return String.format("School %05d", ThreadLocalRandom.current().nextInt(schools));
+    }
+    
+    private String nameFragment() {
+        return exactName().substring(0, 10);
+    }
+    
+    private static String city() {
+        return "City " + ThreadLocalRandom.current().nextInt(DatasetSeeder.CITIES);
+    }
+}
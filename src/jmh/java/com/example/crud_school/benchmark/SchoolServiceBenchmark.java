@@ -0,0 +1,93 @@
+package com.example.crud_school.benchmark;
+
+import com.example.crud_school.dto.SchoolDto;
+import com.example.crud_school.dto.SchoolSummary;
+import com.example.crud_school.entity.School;
+import com.example.crud_school.repository.SchoolRepository;
+import com.example.crud_school.service.SchoolService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.AopTestUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SchoolService read paths. {@code convertEntityToDto} is the per-school path that looks up the
+ * school's statistics row; {@code convertSummaryToDto} maps a row whose counts came from the summary query.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchoolServiceBenchmark {
+    
+    private SchoolService schoolService;
+    private Object serviceTarget;
+    private MethodHandle convertEntity;
+    private MethodHandle convertSummary;
+    private List<School> schools;
+    private List<SchoolSummary> summaries;
+    
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) throws ReflectiveOperationException {
+        schoolService = application.bean(SchoolService.class);
+        // convertToDto is private; call it on the unproxied service
+        serviceTarget = AopTestUtils.getUltimateTargetObject(schoolService);
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(SchoolService.class, MethodHandles.lookup());
+        convertEntity = lookup.findVirtual(SchoolService.class, "convertToDto",
+                MethodType.methodType(SchoolDto.class, School.class));
+        convertSummary = lookup.findVirtual(SchoolService.class, "convertToDto",
+                MethodType.methodType(SchoolDto.class, SchoolSummary.class));
+        
+        SchoolRepository schoolRepository = application.bean(SchoolRepository.class);
+        schools = schoolRepository.findAll();
+        summaries = schoolRepository.findSummariesAfter(0L, Limit.of(schools.size()));
+    }
+    
+    @Benchmark
+    public int getEverySchoolPage() {
+        // Walks the keyset pages the way a client following _links.next would
+        int read = 0;
+        List<SchoolDto> page = schoolService.getSchoolsPage(null, 50);
+        while (!page.isEmpty()) {
+            read += page.size();
+            page = schoolService.getSchoolsPage(page.get(page.size() - 1).getId(), 50);
+        }
+        return read;
+    }
+    
+    @Benchmark
+    public List<SchoolDto> getSchoolsFirstPage() {
+        return schoolService.getSchoolsPage(null, 50);
+    }
+    
+    @Benchmark
+    public Object getSchoolById() {
+        return schoolService.getSchoolById(pick(schools).getId());
+    }
+    
+    @Benchmark
+    public SchoolDto convertEntityToDto() throws Throwable {
+        return (SchoolDto) convertEntity.invoke(serviceTarget, pick(schools));
+    }
+    
+    @Benchmark
+    public SchoolDto convertSummaryToDto() throws Throwable {
+        return (SchoolDto) convertSummary.invoke(serviceTarget, pick(summaries));
+    }
+    
+    private static <T> T pick(List<T> items) {
+        return items.get(ThreadLocalRandom.current().nextInt(items.size()));
+    }
+}
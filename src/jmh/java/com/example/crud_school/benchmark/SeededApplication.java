@@ -0,0 +1,56 @@
+package com.example.crud_school.benchmark;
+
+import com.example.crud_school.CrudSchoolApplication;
+import com.example.crud_school.search.EntitySearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application once per trial against a private in-memory database seeded with
+ * {@code schools} schools of {@code studentsPerSchool} students each (plus teachers, subjects
+ * and classes), and nothing else: startup seeding is off. The SchoolDto cache is off so every
+ * call reaches the service and repository.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+    
+    @Param({"100", "1000"})
+    public int schools;
+    
+    @Param({"20"})
+    public int studentsPerSchool;
+    
+    private ConfigurableApplicationContext context;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(CrudSchoolApplication.class)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                     "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--spring.jpa.properties.hibernate.generate_statistics=false",
+                     "--school.seed.mode=none",
+                     "--school.dto-cache.enabled=false",
+                     "--logging.level.root=WARN",
+                     "--logging.level.com.example.crud_school=WARN",
+                     "--logging.level.org.springframework.web=WARN");
+        new DatasetSeeder(context).seed(schools, studentsPerSchool);
+        bean(EntitySearchIndex.class).rebuild();
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+    
+    public <T> T bean(java.lang.Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,546 @@
+package com.example.crud_school.analytics;
+
+import com.example.crud_school.dto.EnrollmentStatisticsDto;
+import com.example.crud_school.util.LongIntHashMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Enrollments stored column by column in primitive arrays, one array element per enrollment.
+ * <p>
+ * Status and grade are dictionary-encoded into bytes, a missing score is {@code NaN} and a
+ * missing class, school or year is 0. The school (through the subject) and academic year
+ * (through the class) are copied into every row so filters and groupings on them never leave
+ * the arrays. Deleting a row moves the last row into its place, so the rows stay dense and a
+ * query is a sequence of branch-free loops over the first {@code size} elements.
+ * <p>
+ * Enrollment, subject and class IDs must fit in an {@code int}.
+ */
+public class EnrollmentColumns {
+    
+    public enum GroupBy { SUBJECT, CLASS, SCHOOL, ACADEMIC_YEAR }
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_ROW = -1;
+    // Enrollment date of rows without one; below every date a filter can ask for
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final double[] PERCENTILES = {0.25, 0.5, 0.75, 0.9};
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary statuses = new Dictionary();
+    private final Dictionary grades = new Dictionary();
+    private final LongIntHashMap subjectSchools = new LongIntHashMap();
+    private final LongIntHashMap classYears = new LongIntHashMap();
+    
+    // Enrollment ID -> row, NO_ROW where there is none
+    private int[] rowOfId = new int[INITIAL_CAPACITY];
+    
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[] subjectIds = new int[INITIAL_CAPACITY];
+    private int[] classIds = new int[INITIAL_CAPACITY];
+    private int[] schoolIds = new int[INITIAL_CAPACITY];
+    private short[] academicYears = new short[INITIAL_CAPACITY];
+    private int[] enrollmentDays = new int[INITIAL_CAPACITY];
+    private double[] scores = new double[INITIAL_CAPACITY];
+    private byte[] statusCodes = new byte[INITIAL_CAPACITY];
+    private byte[] gradeCodes = new byte[INITIAL_CAPACITY];
+    private int size;
+    
+    // While loading, IDs written by put/remove; the load must not overwrite them with older rows
+    private final LongIntHashMap changedDuringLoad = new LongIntHashMap();
+    private boolean loading;
+    
+    public EnrollmentColumns() {
+        Arrays.fill(rowOfId, NO_ROW);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Approximate heap taken by the columns and the ID lookup, in bytes.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            // int ID, subject, class, school and date, short year, double score, byte status and grade
+            return (long) ids.length * (5 * Integer.BYTES + Short.BYTES + Double.BYTES + 2) +
+                    (long) rowOfId.length * Integer.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Empties the columns and starts a load. Until {@link #finishLoad()}, rows passed to
+     * {@link #load} are skipped if {@link #put} or {@link #remove} already wrote them.
+     */
+    public void startLoad() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(rowOfId, NO_ROW);
+            subjectSchools.clear();
+            classYears.clear();
+            changedDuringLoad.clear();
+            size = 0;
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void finishLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            changedDuringLoad.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void load(long id, long subjectId, Long classId, LocalDate enrollmentDate,
+                     Double score, String status, String grade) {
+        lock.writeLock().lock();
+        try {
+            if (!changedDuringLoad.containsKey(id)) {
+                write(id, subjectId, classId, enrollmentDate, score, status, grade);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Inserts or replaces the enrollment with the given ID.
+     */
+    public void put(long id, long subjectId, Long classId, LocalDate enrollmentDate,
+                    Double score, String status, String grade) {
+        lock.writeLock().lock();
+        try {
+            markChanged(id);
+            write(id, subjectId, classId, enrollmentDate, score, status, grade);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            markChanged(id);
+            int row = rowOf(id);
+            if (row == NO_ROW) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                subjectIds[row] = subjectIds[last];
+                classIds[row] = classIds[last];
+                schoolIds[row] = schoolIds[last];
+                academicYears[row] = academicYears[last];
+                enrollmentDays[row] = enrollmentDays[last];
+                scores[row] = scores[last];
+                statusCodes[row] = statusCodes[last];
+                gradeCodes[row] = gradeCodes[last];
+                rowOfId[ids[row]] = row;
+            }
+            rowOfId[(int) id] = NO_ROW;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Records the school a subject belongs to and moves its enrollments along with it.
+     */
+    public void putSubject(long subjectId, Long schoolId) {
+        int school = schoolId != null ? toInt(schoolId) : 0;
+        lock.writeLock().lock();
+        try {
+            int previous = subjectSchools.getOrDefault(subjectId, NO_ROW);
+            subjectSchools.put(subjectId, school);
+            if (previous != NO_ROW && previous != school) {
+                replace(subjectIds, (int) subjectId, schoolIds, school);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void removeSubject(long subjectId) {
+        lock.writeLock().lock();
+        try {
+            subjectSchools.remove(subjectId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Records the academic year of a class and updates its enrollments if it changed.
+     */
+    public void putClass(long classId, Integer academicYear) {
+        int year = academicYear != null ? academicYear : 0;
+        lock.writeLock().lock();
+        try {
+            int previous = classYears.getOrDefault(classId, NO_ROW);
+            classYears.put(classId, year);
+            if (previous != NO_ROW && previous != year) {
+                int clazz = toInt(classId);
+                for (int row = 0; row < size; row++) {
+                    if (classIds[row] == clazz) {
+                        academicYears[row] = (short) year;
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void removeClass(long classId) {
+        lock.writeLock().lock();
+        try {
+            classYears.remove(classId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Aggregates the enrollments matching {@code filter} per {@code groupBy} value, in group
+     * ID order. Counts, score statistics and the grade distribution are filled in; labels and
+     * rates are left to the caller. Enrollments without a class are left out of CLASS and
+     * ACADEMIC_YEAR groups.
+     */
+    public List<EnrollmentStatisticsDto> aggregate(GroupBy groupBy, EnrollmentFilter filter) {
+        lock.readLock().lock();
+        try {
+            int[] rows = new int[size];
+            int count = select(rows, groupBy, filter);
+            return group(rows, count, groupBy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Fills rows with the matching row numbers, in order, and returns how many there are
+    private int select(int[] rows, GroupBy groupBy, EnrollmentFilter filter) {
+        int count = size;
+        for (int row = 0; row < count; row++) {
+            rows[row] = row;
+        }
+        if (groupBy == GroupBy.CLASS || groupBy == GroupBy.ACADEMIC_YEAR || filter.getAcademicYear() != null) {
+            count = keepNonZero(rows, count, classIds);
+        }
+        if (filter.getSchoolId() != null) {
+            count = keepEqual(rows, count, schoolIds, toInt(filter.getSchoolId()));
+        }
+        if (filter.getAcademicYear() != null) {
+            count = keepEqual(rows, count, academicYears, filter.getAcademicYear().shortValue());
+        }
+        if (filter.getStatus() != null) {
+            count = keepEqual(rows, count, statusCodes, statuses.find(filter.getStatus()));
+        }
+        if (filter.getEnrolledFrom() != null || filter.getEnrolledTo() != null) {
+            int from = filter.getEnrolledFrom() != null ? (int) filter.getEnrolledFrom().toEpochDay() : NO_DATE + 1;
+            int to = filter.getEnrolledTo() != null ? (int) filter.getEnrolledTo().toEpochDay() : Integer.MAX_VALUE;
+            count = keepBetween(rows, count, enrollmentDays, from, to);
+        }
+        return count;
+    }
+    
+    // The keep* loops compact rows in place: every row is written, and the cursor only advances past matches
+    
+    private static int keepEqual(int[] rows, int count, int[] column, int value) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            rows[kept] = row;
+            kept += column[row] == value ? 1 : 0;
+        }
+        return kept;
+    }
+    
+    private static int keepEqual(int[] rows, int count, short[] column, short value) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            rows[kept] = row;
+            kept += column[row] == value ? 1 : 0;
+        }
+        return kept;
+    }
+    
+    private static int keepEqual(int[] rows, int count, byte[] column, byte value) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            rows[kept] = row;
+            kept += column[row] == value ? 1 : 0;
+        }
+        return kept;
+    }
+    
+    private static int keepNonZero(int[] rows, int count, int[] column) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            rows[kept] = row;
+            kept += column[row] != 0 ? 1 : 0;
+        }
+        return kept;
+    }
+    
+    private static int keepBetween(int[] rows, int count, int[] column, int from, int to) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            rows[kept] = row;
+            kept += column[row] >= from & column[row] <= to ? 1 : 0;
+        }
+        return kept;
+    }
+    
+    private List<EnrollmentStatisticsDto> group(int[] rows, int count, GroupBy groupBy) {
+        // Map each selected row to a dense group number
+        LongIntHashMap groupOfKey = new LongIntHashMap();
+        long[] keys = new long[16];
+        int[] groupOfRow = new int[count];
+        for (int i = 0; i < count; i++) {
+            long key = keyOf(groupBy, rows[i]);
+            int group = groupOfKey.getOrDefault(key, NO_ROW);
+            if (group == NO_ROW) {
+                group = groupOfKey.size();
+                groupOfKey.put(key, group);
+                if (group == keys.length) {
+                    keys = Arrays.copyOf(keys, group * 2);
+                }
+                keys[group] = key;
+            }
+            groupOfRow[i] = group;
+        }
+        int groups = groupOfKey.size();
+        
+        long[] enrollments = new long[groups];
+        long[] scored = new long[groups];
+        double[] sums = new double[groups];
+        double[] minima = new double[groups];
+        double[] maxima = new double[groups];
+        Arrays.fill(minima, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxima, Double.NEGATIVE_INFINITY);
+        // One counter per group and dictionary code, laid out group by group
+        int statusStride = statuses.size();
+        int gradeStride = grades.size();
+        long[] statusCounts = new long[groups * statusStride];
+        long[] gradeCounts = new long[groups * gradeStride];
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            int group = groupOfRow[i];
+            enrollments[group]++;
+            statusCounts[group * statusStride + statusCodes[row]]++;
+            gradeCounts[group * gradeStride + gradeCodes[row]]++;
+            double score = scores[row];
+            if (!Double.isNaN(score)) {
+                scored[group]++;
+                sums[group] += score;
+                minima[group] = Math.min(minima[group], score);
+                maxima[group] = Math.max(maxima[group], score);
+            }
+        }
+        
+        // Scatter each group's scores into its own slice, then sort the slices for the percentiles
+        int[] offsets = new int[groups + 1];
+        for (int group = 0; group < groups; group++) {
+            offsets[group + 1] = offsets[group] + (int) scored[group];
+        }
+        double[] sorted = new double[offsets[groups]];
+        int[] fill = Arrays.copyOf(offsets, groups);
+        for (int i = 0; i < count; i++) {
+            double score = scores[rows[i]];
+            if (!Double.isNaN(score)) {
+                sorted[fill[groupOfRow[i]]++] = score;
+            }
+        }
+        
+        String[] gradeNames = grades.values();
+        Integer[] gradeOrder = new Integer[gradeNames.length - 1];
+        for (int code = 1; code < gradeNames.length; code++) {
+            gradeOrder[code - 1] = code;
+        }
+        Arrays.sort(gradeOrder, Comparator.comparing(code -> gradeNames[code]));
+        
+        List<EnrollmentStatisticsDto> result = new ArrayList<>(groups);
+        for (int group = 0; group < groups; group++) {
+            EnrollmentStatisticsDto dto = new EnrollmentStatisticsDto(keys[group], null);
+            dto.setEnrollments(enrollments[group]);
+            dto.setScored(scored[group]);
+            if (scored[group] > 0) {
+                Arrays.sort(sorted, offsets[group], offsets[group + 1]);
+                dto.setMeanScore(sums[group] / scored[group]);
+                dto.setMinScore(minima[group]);
+                dto.setMaxScore(maxima[group]);
+                dto.setP25Score(percentile(sorted, offsets[group], offsets[group + 1], PERCENTILES[0]));
+                dto.setMedianScore(percentile(sorted, offsets[group], offsets[group + 1], PERCENTILES[1]));
+                dto.setP75Score(percentile(sorted, offsets[group], offsets[group + 1], PERCENTILES[2]));
+                dto.setP90Score(percentile(sorted, offsets[group], offsets[group + 1], PERCENTILES[3]));
+            }
+            int statusBase = group * statusStride;
+            dto.setEnrolled(statusCount(statusCounts, statusBase, "ENROLLED"));
+            dto.setCompleted(statusCount(statusCounts, statusBase, "COMPLETED"));
+            dto.setFailed(statusCount(statusCounts, statusBase, "FAILED"));
+            dto.setDropped(statusCount(statusCounts, statusBase, "DROPPED"));
+            int gradeBase = group * gradeStride;
+            for (int code : gradeOrder) {
+                if (gradeCounts[gradeBase + code] > 0) {
+                    dto.getGradeDistribution().put(gradeNames[code], gradeCounts[gradeBase + code]);
+                }
+            }
+            result.add(dto);
+        }
+        result.sort(Comparator.comparing(EnrollmentStatisticsDto::getGroupId));
+        return result;
+    }
+    
+    private long keyOf(GroupBy groupBy, int row) {
+        return switch (groupBy) {
+            case SUBJECT -> subjectIds[row];
+            case CLASS -> classIds[row];
+            case SCHOOL -> schoolIds[row];
+            case ACADEMIC_YEAR -> academicYears[row];
+        };
+    }
+    
+    private long statusCount(long[] statusCounts, int base, String status) {
+        byte code = statuses.find(status);
+        return code > 0 ? statusCounts[base + code] : 0;
+    }
+    
+    // Linear interpolation between the closest ranks, as PERCENTILE_CONT does
+    private static double percentile(double[] sorted, int from, int to, double fraction) {
+        double position = fraction * (to - from - 1);
+        int lower = from + (int) position;
+        double weight = position - (int) position;
+        return lower + 1 < to ? sorted[lower] + weight * (sorted[lower + 1] - sorted[lower]) : sorted[lower];
+    }
+    
+    private void write(long id, long subjectId, Long classId, LocalDate enrollmentDate,
+                       Double score, String status, String grade) {
+        int enrollment = toInt(id);
+        int row = rowOf(enrollment);
+        if (row == NO_ROW) {
+            ensureCapacity(size + 1);
+            row = size++;
+            ensureIdCapacity(enrollment);
+            rowOfId[enrollment] = row;
+        }
+        ids[row] = enrollment;
+        subjectIds[row] = toInt(subjectId);
+        classIds[row] = classId != null ? toInt(classId) : 0;
+        schoolIds[row] = subjectSchools.getOrDefault(subjectId, 0);
+        academicYears[row] = (short) (classId != null ? classYears.getOrDefault(classId, 0) : 0);
+        enrollmentDays[row] = enrollmentDate != null ? (int) enrollmentDate.toEpochDay() : NO_DATE;
+        scores[row] = score != null ? score : Double.NaN;
+        statusCodes[row] = statuses.encode(status);
+        gradeCodes[row] = grades.encode(grade);
+    }
+    
+    private void markChanged(long id) {
+        if (loading) {
+            changedDuringLoad.put(id, 1);
+        }
+    }
+    
+    private void replace(int[] match, int value, int[] target, int replacement) {
+        for (int row = 0; row < size; row++) {
+            if (match[row] == value) {
+                target[row] = replacement;
+            }
+        }
+    }
+    
+    private int rowOf(long id) {
+        return id >= 0 && id < rowOfId.length ? rowOfId[(int) id] : NO_ROW;
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int length = Math.max(capacity, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, length);
+            subjectIds = Arrays.copyOf(subjectIds, length);
+            classIds = Arrays.copyOf(classIds, length);
+            schoolIds = Arrays.copyOf(schoolIds, length);
+            academicYears = Arrays.copyOf(academicYears, length);
+            enrollmentDays = Arrays.copyOf(enrollmentDays, length);
+            scores = Arrays.copyOf(scores, length);
+            statusCodes = Arrays.copyOf(statusCodes, length);
+            gradeCodes = Arrays.copyOf(gradeCodes, length);
+        }
+    }
+    
+    private void ensureIdCapacity(int id) {
+        if (id >= rowOfId.length) {
+            int previous = rowOfId.length;
+            rowOfId = Arrays.copyOf(rowOfId, Math.max(id + 1, previous + (previous >> 1)));
+            Arrays.fill(rowOfId, previous, rowOfId.length, NO_ROW);
+        }
+    }
+    
+    private static int toInt(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ID out of range for the enrollment columns: " + id);
+        }
+        return (int) id;
+    }
+    
+    // Maps strings to byte codes in first-seen order; code 0 stands for null
+    private static final class Dictionary {
+        
+        private static final int MAX_SIZE = 128;
+        
+        private final Map<String, Byte> codes = new HashMap<>();
+        private String[] values = {null};
+        
+        byte encode(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Byte code = codes.get(value);
+            if (code == null) {
+                if (values.length == MAX_SIZE) {
+                    throw new IllegalStateException("More than " + (MAX_SIZE - 1) + " distinct values: " + value);
+                }
+                code = (byte) values.length;
+                values = Arrays.copyOf(values, values.length + 1);
+                values[code] = value;
+                codes.put(value, code);
+            }
+            return code;
+        }
+        
+        // Code of value, or -1 (which no row holds) if it has never been seen
+        byte find(String value) {
+            Byte code = codes.get(value);
+            return code != null ? code : -1;
+        }
+        
+        String[] values() {
+            return values;
+        }
+        
+        int size() {
+            return values.length;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.crud_school.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Restricts which enrollments an aggregate covers. Unset criteria match every enrollment;
+ * an academic year only matches enrollments that have a class.
+ */
+public class EnrollmentFilter {
+    
+    private Long schoolId;
+    private Integer academicYear;
+    private String status;
+    private LocalDate enrolledFrom;
+    private LocalDate enrolledTo;
+    
+    // Constructors
+    public EnrollmentFilter() {}
+    
+    public EnrollmentFilter(Long schoolId, Integer academicYear) {
+        this.schoolId = schoolId;
+        this.academicYear = academicYear;
+    }
+    
+    // Getters and Setters
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
+    public void setSchoolId(Long schoolId) {
+        this.schoolId = schoolId;
+    }
+    
+    public Integer getAcademicYear() {
+        return academicYear;
+    }
+    
+    public void setAcademicYear(Integer academicYear) {
+        this.academicYear = academicYear;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public LocalDate getEnrolledFrom() {
+        return enrolledFrom;
+    }
+    
+    public void setEnrolledFrom(LocalDate enrolledFrom) {
+        this.enrolledFrom = enrolledFrom;
+    }
+    
+    public LocalDate getEnrolledTo() {
+        return enrolledTo;
+    }
+    
+    public void setEnrolledTo(LocalDate enrolledTo) {
+        this.enrolledTo = enrolledTo;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.crud_school.analytics;
+
+import com.example.crud_school.config.AnalyticsProperties;
+import com.example.crud_school.dto.EnrollmentStatisticsDto;
+import com.example.crud_school.entity.Class;
+import com.example.crud_school.entity.Enrollment;
+import com.example.crud_school.entity.Subject;
+import com.example.crud_school.event.EntityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read-optimized copy of the enrollments table for analytical queries, held in
+ * {@link EnrollmentColumns}. Loaded from the database once the application is ready and kept
+ * current from committed entity changes, so it costs no entity materialization per query.
+ * Disabled with {@code school.analytics.snapshot-enabled=false}.
+ */
+@Component
+public class EnrollmentSnapshot {
+    
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentSnapshot.class);
+    
+    private final EnrollmentColumns columns = new EnrollmentColumns();
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private volatile boolean ready;
+    
+    public EnrollmentSnapshot(JdbcTemplate jdbcTemplate, AnalyticsProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(1000);
+        this.enabled = properties.isSnapshotEnabled();
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public int size() {
+        return columns.size();
+    }
+    
+    public List<EnrollmentStatisticsDto> aggregate(EnrollmentColumns.GroupBy groupBy, EnrollmentFilter filter) {
+        return columns.aggregate(groupBy, filter);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        ready = false;
+        columns.startLoad();
+        
+        jdbcTemplate.query("SELECT id, school_id FROM subjects", (RowCallbackHandler) rs ->
+                columns.putSubject(rs.getLong("id"), rs.getObject("school_id", Long.class)));
+        jdbcTemplate.query("SELECT id, academic_year FROM classes", (RowCallbackHandler) rs ->
+                columns.putClass(rs.getLong("id"), rs.getObject("academic_year", Integer.class)));
+        jdbcTemplate.query("SELECT id, subject_id, class_id, enrollment_date, score, status, grade FROM enrollments",
+                (RowCallbackHandler) rs -> columns.load(rs.getLong("id"), rs.getLong("subject_id"),
+                        rs.getObject("class_id", Long.class), rs.getObject("enrollment_date", LocalDate.class),
+                        rs.getObject("score", Double.class), rs.getString("status"), rs.getString("grade")));
+        
+        columns.finishLoad();
+        ready = true;
+        log.info("Enrollment snapshot built in {} ms ({} enrollments, ~{} KB)",
+                System.currentTimeMillis() - start, columns.size(), columns.estimatedBytes() / 1024);
+    }
+    
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        boolean deleted = event.getType() == EntityChangedEvent.Type.DELETED;
+        if (event.getEntity() instanceof Enrollment enrollment) {
+            if (deleted) {
+                columns.remove(enrollment.getId());
+            } else {
+                // Reading the id of a lazy association does not initialize the proxy
+                columns.put(enrollment.getId(), enrollment.getSubject().getId(),
+                        enrollment.getClazz() != null ? enrollment.getClazz().getId() : null,
+                        enrollment.getEnrollmentDate(), enrollment.getScore(),
+                        enrollment.getStatus(), enrollment.getGrade());
+            }
+        } else if (event.getEntity() instanceof Subject subject) {
+            if (deleted) {
+                columns.removeSubject(subject.getId());
+            } else {
+                columns.putSubject(subject.getId(), subject.getSchool() != null ? subject.getSchool().getId() : null);
+            }
+        } else if (event.getEntity() instanceof Class clazz) {
+            if (deleted) {
+                columns.removeClass(clazz.getId());
+            } else {
+                columns.putClass(clazz.getId(), clazz.getAcademicYear());
+            }
+        }
+    }
+}
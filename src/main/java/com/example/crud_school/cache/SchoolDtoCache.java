@@ -0,0 +1,280 @@
+package com.example.crud_school.cache;
+
+import com.example.crud_school.dto.SchoolDto;
+import com.example.crud_school.event.EntityChangedEvent;
+import com.example.crud_school.event.SchoolChanges;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-evicting cache of {@link SchoolDto} results keyed by service method and arguments.
+ * <p>
+ * Every entry is indexed by the school IDs it contains, so a change to a student, teacher,
+ * subject or class only evicts the results that show that school's counts. Lists and cached
+ * misses are additionally evicted whenever a school itself is created, renamed or deleted,
+ * since that can change which schools they contain.
+ * <p>
+ * Misses load outside Caffeine, so a slow query never holds a lock inside the map; concurrent
+ * callers for one key wait for the first caller's load instead of starting their own. A load
+ * is only kept if none of the schools in its result, nor the school membership for lists and
+ * misses, was invalidated after it started; writes to other schools leave it alone.
+ */
+public class SchoolDtoCache extends AbstractValueAdaptingCache {
+    
+    public static final String NAME = "schoolDtos";
+    
+    private final Cache<Object, Object> cache;
+    private final ConcurrentHashMap<Long, Set<Object>> keysBySchool = new ConcurrentHashMap<>();
+    private final Set<Object> membershipKeys = ConcurrentHashMap.newKeySet();
+    
+    // Loads in progress by key; completed with null when the result was not kept
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    
+    // Invalidations are numbered; each records its number against what it invalidated
+    private final AtomicLong invalidations = new AtomicLong();
+    private final ConcurrentHashMap<Long, Long> schoolInvalidatedAt = new ConcurrentHashMap<>();
+    private volatile long membershipInvalidatedAt;
+    private volatile long clearedAt;
+    
+    // Loads and puts in progress; while there are none the recorded numbers can be dropped
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    public SchoolDtoCache(long maximumSize, Duration timeToLive) {
+        super(true);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .executor(Runnable::run)
+                .removalListener((key, value, cause) -> unindex(key, value))
+                .build();
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public Object getNativeCache() {
+        return cache;
+    }
+    
+    @Override
+    protected Object lookup(Object key) {
+        return cache.getIfPresent(key);
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        while (true) {
+            Object stored = cache.getIfPresent(key);
+            if (stored != null) {
+                return (T) fromStoreValue(stored);
+            }
+            CompletableFuture<Object> load = new CompletableFuture<>();
+            CompletableFuture<Object> inProgress = loading.putIfAbsent(key, load);
+            if (inProgress == null) {
+                return (T) fromStoreValue(load(key, valueLoader, load));
+            }
+            // A load that failed or went stale is not shared; the waiter tries again
+            Object shared = inProgress.join();
+            if (shared != null) {
+                return (T) fromStoreValue(shared);
+            }
+        }
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        long startedAt = begin();
+        try {
+            store(key, toStoreValue(value), startedAt);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+    
+    @Override
+    public void evict(Object key) {
+        cache.invalidate(key);
+    }
+    
+    @Override
+    public void clear() {
+        synchronized (schoolInvalidatedAt) {
+            clearedAt = next();
+        }
+        cache.invalidateAll();
+    }
+    
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        Set<Long> schoolIds = SchoolChanges.affectedSchoolIds(event);
+        boolean membershipChanged = SchoolChanges.changesSchoolMembership(event);
+        if (!schoolIds.isEmpty() || membershipChanged) {
+            evictSchools(schoolIds, membershipChanged);
+        }
+    }
+    
+    public void evictSchools(Collection<Long> schoolIds, boolean membershipChanged) {
+        synchronized (schoolInvalidatedAt) {
+            long invalidation = next();
+            for (Long schoolId : schoolIds) {
+                schoolInvalidatedAt.put(schoolId, invalidation);
+            }
+            if (membershipChanged) {
+                membershipInvalidatedAt = invalidation;
+            }
+        }
+        // Recorded before the index is read, so a load indexed too late for the eviction sees it
+        List<Object> evicted = new ArrayList<>();
+        for (Long schoolId : schoolIds) {
+            Set<Object> keys = keysBySchool.remove(schoolId);
+            if (keys != null) {
+                evicted.addAll(keys);
+            }
+        }
+        if (membershipChanged) {
+            evicted.addAll(membershipKeys);
+        }
+        cache.invalidateAll(evicted);
+    }
+    
+    public long size() {
+        return cache.estimatedSize();
+    }
+    
+    private long begin() {
+        inFlight.incrementAndGet();
+        return invalidations.get();
+    }
+    
+    // Called holding the schoolInvalidatedAt lock
+    private long next() {
+        if (inFlight.get() == 0) {
+            schoolInvalidatedAt.clear();
+        }
+        return invalidations.incrementAndGet();
+    }
+    
+    private Object load(Object key, Callable<?> valueLoader, CompletableFuture<Object> load) {
+        long startedAt = begin();
+        try {
+            // Another load may have stored the key between this caller's miss and its claim
+            Object stored = cache.getIfPresent(key);
+            if (stored != null) {
+                load.complete(stored);
+                return stored;
+            }
+            Object storeValue;
+            try {
+                storeValue = toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            // A stale result is returned to this caller only
+            load.complete(store(key, storeValue, startedAt) ? storeValue : null);
+            return storeValue;
+        } finally {
+            load.complete(null);
+            loading.remove(key, load);
+            inFlight.decrementAndGet();
+        }
+    }
+    
+    // Returns whether the value was kept
+    private boolean store(Object key, Object storeValue, long startedAt) {
+        if (isStale(storeValue, startedAt)) {
+            return false;
+        }
+        // put() first: replacing an entry unindexes the old value synchronously
+        cache.put(key, storeValue);
+        index(key, storeValue);
+        // An invalidation that ran between the store and the indexing missed the key, so check again
+        if (isStale(storeValue, startedAt)) {
+            cache.asMap().remove(key, storeValue);
+            return false;
+        }
+        return true;
+    }
+    
+    private boolean isStale(Object storeValue, long startedAt) {
+        if (clearedAt > startedAt) {
+            return true;
+        }
+        if (storeValue instanceof SchoolDto school) {
+            return invalidatedSince(school, startedAt);
+        }
+        if (membershipInvalidatedAt > startedAt) {
+            return storeValue instanceof Collection<?> || storeValue instanceof NullValue;
+        }
+        if (storeValue instanceof Collection<?> schools) {
+            for (Object school : schools) {
+                if (school instanceof SchoolDto dto && invalidatedSince(dto, startedAt)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private boolean invalidatedSince(SchoolDto school, long startedAt) {
+        Long invalidatedAt = schoolInvalidatedAt.get(school.getId());
+        return invalidatedAt != null && invalidatedAt > startedAt;
+    }
+    
+    private void index(Object key, Object storeValue) {
+        if (storeValue instanceof SchoolDto school) {
+            indexSchool(key, school);
+        } else if (storeValue instanceof Collection<?> schools) {
+            membershipKeys.add(key);
+            for (Object school : schools) {
+                if (school instanceof SchoolDto dto) {
+                    indexSchool(key, dto);
+                }
+            }
+        } else if (storeValue instanceof NullValue) {
+            // A cached miss becomes stale as soon as a matching school is created
+            membershipKeys.add(key);
+        }
+    }
+    
+    private void indexSchool(Object key, SchoolDto school) {
+        keysBySchool.computeIfAbsent(school.getId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+    
+    private void unindex(Object key, Object storeValue) {
+        membershipKeys.remove(key);
+        if (storeValue instanceof SchoolDto school) {
+            unindexSchool(key, school);
+        } else if (storeValue instanceof Collection<?> schools) {
+            for (Object school : schools) {
+                if (school instanceof SchoolDto dto) {
+                    unindexSchool(key, dto);
+                }
+            }
+        }
+    }
+    
+    private void unindexSchool(Object key, SchoolDto school) {
+        keysBySchool.computeIfPresent(school.getId(), (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.crud_school.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.config.HypermediaMappingInformation;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * Smile ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}) bodies for
+ * clients that ask for them in Accept. Both mappers start from Boot's Jackson settings and add
+ * the HAL mapping, so a binary body has the same structure as the {@code application/hal+json}
+ * one. Smile also back-references repeated short strings, such as the link relations and the
+ * collection href repeated on every item of a page.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+    
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, List<HypermediaMappingInformation> hypermedia) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(halObjectMapper(builder, factory, hypermedia));
+    }
+    
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, List<HypermediaMappingInformation> hypermedia) {
+        return new MappingJackson2CborHttpMessageConverter(halObjectMapper(builder, new CBORFactory(), hypermedia));
+    }
+    
+    private static ObjectMapper halObjectMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory,
+                                                List<HypermediaMappingInformation> hypermedia) {
+        ObjectMapper mapper = builder.factory(factory).build();
+        return hypermedia.stream()
+                .filter(information -> information.getMediaTypes().contains(MediaTypes.HAL_JSON))
+                .findFirst()
+                .map(information -> information.configureObjectMapper(mapper))
+                .orElse(mapper);
+    }
+}
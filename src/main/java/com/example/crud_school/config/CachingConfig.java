@@ -0,0 +1,39 @@
+package com.example.crud_school.config;
+
+import com.example.crud_school.cache.SchoolDtoCache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+// Ordered ahead of the transaction interceptor so cache hits never open a transaction
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CachingConfig {
+    
+    @Bean
+    public SchoolDtoCache schoolDtoCache(DtoCacheProperties properties) {
+        return new SchoolDtoCache(properties.getMaximumSize(), properties.getTimeToLive());
+    }
+    
+    @Bean
+    public CacheManager cacheManager(SchoolDtoCache schoolDtoCache, DtoCacheProperties properties) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(properties.isEnabled() ? schoolDtoCache : new NoOpCache(SchoolDtoCache.NAME)));
+        return cacheManager;
+    }
+    
+    // Keys include the method name so getSchoolById(1) and getSchoolsPage(1, ...) never collide
+    @Bean
+    public KeyGenerator methodAndArgumentsKeyGenerator() {
+        return (target, method, params) -> new SimpleKey(method.getName(), SimpleKeyGenerator.generateKey(params));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.crud_school.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.List;
+
+/**
+ * Weak ETags hashed from the response body for the read endpoints whose data has no single
+ * version to build a validator from: the dashboard, search, analytics and relationships. The
+ * response is still built, but a client whose copy matches gets a {@code 304} without a body.
+ */
+@Configuration
+public class ContentETagConfig {
+    
+    private static final List<String> PATHS = List.of(
+            "/api/schools/*/dashboard", "/api/search/**", "/api/analytics/**", "/api/relationships/**");
+    
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> contentETagFilter() {
+        PathMatcher matcher = new AntPathMatcher();
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                String path = request.getRequestURI().substring(request.getContextPath().length());
+                return PATHS.stream().noneMatch(pattern -> matcher.match(pattern, path));
+            }
+        };
+        // Weak, since Tomcat does not compress responses that carry a strong ETag
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.crud_school.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "school.dashboard")
+public class DashboardProperties {
+    
+    /**
+     * How long the school dashboard waits for its reads, which run in parallel. Sections that
+     * have not finished by then are left out of the response and listed as incomplete.
+     */
+    private Duration branchTimeout = Duration.ofSeconds(2);
+    
+    /**
+     * How many dashboard reads may hold a pooled connection at once, across all requests. Reads
+     * beyond it wait for a turn until the branch timeout. Unset, it is half the maximum size of
+     * the pool the reads use, leaving the rest for other requests: the replica pool
+     * ({@code school.datasource.replica.hikari.maximum-pool-size}) when a replica is configured,
+     * otherwise {@code spring.datasource.hikari.maximum-pool-size}.
+     */
+    private Integer maxConcurrentReads;
+    
+    public Duration getBranchTimeout() {
+        return branchTimeout;
+    }
+    
+    public void setBranchTimeout(Duration branchTimeout) {
+        this.branchTimeout = branchTimeout;
+    }
+    
+    public Integer getMaxConcurrentReads() {
+        return maxConcurrentReads;
+    }
+    
+    public void setMaxConcurrentReads(Integer maxConcurrentReads) {
+        this.maxConcurrentReads = maxConcurrentReads;
+    }
+}
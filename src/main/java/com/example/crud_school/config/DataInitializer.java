@@ -4,11 +4,14 @@ import com.example.crud_school.entity.*;
 import com.example.crud_school.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Component
+@ConditionalOnProperty(name = "school.seed.mode", havingValue = "sample", matchIfMissing = true)
 public class DataInitializer implements CommandLineRunner {
     
     @Autowired
@@ -31,14 +34,17 @@ public class DataInitializer implements CommandLineRunner {
     
     @Override
     public void run(String... args) throws Exception {
+        if (schoolRepository.count() > 0) {
+            return;
+        }
+        
         // Create sample schools
         School school1 = new School("Springfield High School", "A comprehensive high school", 
                                    "123 Main Street, Springfield", "+1-555-123-4567", "info@springfield.edu");
         School school2 = new School("Lincoln Academy", "An academic excellence institution", 
                                    "456 Oak Avenue, Lincoln", "+1-555-987-6543", "info@lincoln.edu");
         
-        schoolRepository.save(school1);
-        schoolRepository.save(school2);
+        schoolRepository.saveAll(List.of(school1, school2));
         
         // Create sample teachers
         Teacher teacher1 = new Teacher("John", "Smith", LocalDate.of(1980, 5, 15), 
@@ -58,9 +64,7 @@ public class DataInitializer implements CommandLineRunner {
         teacher2.setSchool(school1);
         teacher3.setSchool(school2);
         
-        teacherRepository.save(teacher1);
-        teacherRepository.save(teacher2);
-        teacherRepository.save(teacher3);
+        teacherRepository.saveAll(List.of(teacher1, teacher2, teacher3));
         
         // Create sample subjects
         Subject subject1 = new Subject("Mathematics", "Advanced mathematics including calculus", "MATH101", 4);
@@ -76,10 +80,7 @@ public class DataInitializer implements CommandLineRunner {
         subject3.setTeacher(teacher3);
         subject4.setSchool(school1);
         
-        subjectRepository.save(subject1);
-        subjectRepository.save(subject2);
-        subjectRepository.save(subject3);
-        subjectRepository.save(subject4);
+        subjectRepository.saveAll(List.of(subject1, subject2, subject3, subject4));
         
         // Create sample classes
         com.example.crud_school.entity.Class class1 = new com.example.crud_school.entity.Class("Grade 10A", "G10A", "Grade 10 Section A", 10, 2024, "Room 101");
@@ -93,9 +94,7 @@ public class DataInitializer implements CommandLineRunner {
         class3.setSchool(school2);
         class3.setTeacher(teacher3);
         
-        classRepository.save(class1);
-        classRepository.save(class2);
-        classRepository.save(class3);
+        classRepository.saveAll(List.of(class1, class2, class3));
         
         // Create sample students
         Student student1 = new Student("Alice", "Johnson", LocalDate.of(2008, 6, 15), 
@@ -116,10 +115,7 @@ public class DataInitializer implements CommandLineRunner {
         student4.setSchool(school2);
         student4.setClazz(class3);
         
-        studentRepository.save(student1);
-        studentRepository.save(student2);
-        studentRepository.save(student3);
-        studentRepository.save(student4);
+        studentRepository.saveAll(List.of(student1, student2, student3, student4));
         
         // Create sample enrollments
         Enrollment enrollment1 = new Enrollment(student1, subject1, class1);
@@ -128,11 +124,7 @@ public class DataInitializer implements CommandLineRunner {
         Enrollment enrollment4 = new Enrollment(student3, subject2, class2);
         Enrollment enrollment5 = new Enrollment(student4, subject3, class3);
         
-        enrollmentRepository.save(enrollment1);
-        enrollmentRepository.save(enrollment2);
-        enrollmentRepository.save(enrollment3);
-        enrollmentRepository.save(enrollment4);
-        enrollmentRepository.save(enrollment5);
+        enrollmentRepository.saveAll(List.of(enrollment1, enrollment2, enrollment3, enrollment4, enrollment5));
         
         System.out.println("Sample data initialized successfully!");
     }
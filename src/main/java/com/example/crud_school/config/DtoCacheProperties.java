@@ -0,0 +1,48 @@
+package com.example.crud_school.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "school.dto-cache")
+public class DtoCacheProperties {
+    
+    /**
+     * Whether SchoolService read results are cached.
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Maximum number of cached results (single schools and lists).
+     */
+    private long maximumSize = 10_000;
+    
+    /**
+     * How long a cached result is served before it is reloaded.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+    
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+    
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+    
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+}
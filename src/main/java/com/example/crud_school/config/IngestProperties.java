@@ -0,0 +1,20 @@
+package com.example.crud_school.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.ingest")
+public class IngestProperties {
+    
+    /**
+     * Rows written per transaction and per JDBC batch during bulk ingest.
+     */
+    private int batchSize = 1000;
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
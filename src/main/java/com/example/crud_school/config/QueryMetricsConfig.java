@@ -0,0 +1,41 @@
+package com.example.crud_school.config;
+
+import com.example.crud_school.metrics.InstrumentedDataSource;
+import com.example.crud_school.metrics.QueryBudgetViolations;
+import com.example.crud_school.metrics.QueryMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class QueryMetricsConfig implements WebMvcConfigurer {
+    
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetViolations violations;
+    
+    public QueryMetricsConfig(MeterRegistry meterRegistry, QueryBudgetViolations violations) {
+        this.meterRegistry = meterRegistry;
+        this.violations = violations;
+    }
+    
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? InstrumentedDataSource.wrap(dataSource) : bean;
+            }
+        };
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryMetricsInterceptor(meterRegistry, violations)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.crud_school.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to a replica pool when {@code school.datasource.replica.url}
+ * is set. The pools stay inside the one DataSource bean, so the query metrics post-processor
+ * instruments the routing proxy once and sees statements on both pools.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "school.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+    
+    @Bean
+    public DataSource dataSource(DataSourceProperties primaryProperties, ReplicaDataSourceProperties replicaProperties,
+                                 Environment environment, MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        
+        HikariDataSource replica = new HikariDataSource();
+        replica.setDriverClassName(primaryProperties.determineDriverClassName());
+        replica.setJdbcUrl(replicaProperties.getUrl());
+        replica.setUsername(replicaProperties.getUsername() != null
+                ? replicaProperties.getUsername() : primaryProperties.determineUsername());
+        replica.setPassword(replicaProperties.getPassword() != null
+                ? replicaProperties.getPassword() : primaryProperties.determinePassword());
+        replica.setReadOnly(true);
+        binder.bind("school.datasource.replica.hikari", Bindable.ofInstance(replica));
+        if (replica.getPoolName() == null) {
+            replica.setPoolName("replica");
+        }
+        
+        // The pools are not beans, so Boot's pool metrics do not find them
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReadReplicaRoutingDataSource(primary, replica);
+    }
+    
+    /**
+     * Hands out a connection proxy and only picks a pool at the first statement, by which time
+     * a read-only transaction has marked the connection read-only. Closing it closes both pools.
+     */
+    static class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+        
+        private final HikariDataSource primary;
+        private final HikariDataSource replica;
+        
+        ReadReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+            super(primary);
+            setReadOnlyDataSource(replica);
+            this.primary = primary;
+            this.replica = replica;
+        }
+        
+        @Override
+        public void close() {
+            replica.close();
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.crud_school.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.datasource.replica")
+public class ReplicaDataSourceProperties {
+    
+    /**
+     * JDBC URL of the read replica. Read-only transactions are routed to it when set; pool
+     * settings go under {@code school.datasource.replica.hikari.*}.
+     */
+    private String url;
+    
+    /**
+     * Replica login user; defaults to {@code spring.datasource.username}.
+     */
+    private String username;
+    
+    /**
+     * Replica login password; defaults to {@code spring.datasource.password}.
+     */
+    private String password;
+    
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(String url) {
+        this.url = url;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+    
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
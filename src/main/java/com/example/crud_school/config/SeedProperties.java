@@ -0,0 +1,160 @@
+package com.example.crud_school.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "school.seed")
+public class SeedProperties {
+    
+    public enum Mode {
+        /** The handful of hand-written schools, teachers and students in DataInitializer. */
+        SAMPLE,
+        /** A generated dataset sized by the properties below. */
+        SYNTHETIC,
+        /** No seeding. */
+        NONE
+    }
+    
+    /**
+     * What to load into an empty database at startup.
+     */
+    private Mode mode = Mode.SAMPLE;
+    
+    /**
+     * Random seed; the same seed and sizes always produce the same rows and ids.
+     */
+    private long randomSeed = 42;
+    
+    /**
+     * Number of schools to generate.
+     */
+    private int schools = 1_000;
+    
+    /**
+     * Average number of students per school.
+     */
+    private int studentsPerSchool = 500;
+    
+    /**
+     * Average number of enrollments per student.
+     */
+    private int enrollmentsPerStudent = 10;
+    
+    /**
+     * Students per teacher, used to size each school's staff.
+     */
+    private int studentsPerTeacher = 20;
+    
+    /**
+     * Students per class.
+     */
+    private int studentsPerClass = 30;
+    
+    /**
+     * Number of subjects offered by each school.
+     */
+    private int subjectsPerSchool = 12;
+    
+    /**
+     * Zipf exponent for school sizes and subject popularity. 0 is uniform; larger values
+     * concentrate students in fewer, bigger schools.
+     */
+    private double skew = 0.5;
+    
+    /**
+     * Number of schools generated concurrently. Keep below the connection pool size.
+     */
+    private int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    
+    /**
+     * Rows per JDBC batch and per transaction.
+     */
+    private int batchSize = 5_000;
+    
+    public Mode getMode() {
+        return mode;
+    }
+    
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+    
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+    
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+    
+    public int getSchools() {
+        return schools;
+    }
+    
+    public void setSchools(int schools) {
+        this.schools = schools;
+    }
+    
+    public int getStudentsPerSchool() {
+        return studentsPerSchool;
+    }
+    
+    public void setStudentsPerSchool(int studentsPerSchool) {
+        this.studentsPerSchool = studentsPerSchool;
+    }
+    
+    public int getEnrollmentsPerStudent() {
+        return enrollmentsPerStudent;
+    }
+    
+    public void setEnrollmentsPerStudent(int enrollmentsPerStudent) {
+        this.enrollmentsPerStudent = enrollmentsPerStudent;
+    }
+    
+    public int getStudentsPerTeacher() {
+        return studentsPerTeacher;
+    }
+    
+    public void setStudentsPerTeacher(int studentsPerTeacher) {
+        this.studentsPerTeacher = studentsPerTeacher;
+    }
+    
+    public int getStudentsPerClass() {
+        return studentsPerClass;
+    }
+    
+    public void setStudentsPerClass(int studentsPerClass) {
+        this.studentsPerClass = studentsPerClass;
+    }
+    
+    public int getSubjectsPerSchool() {
+        return subjectsPerSchool;
+    }
+    
+    public void setSubjectsPerSchool(int subjectsPerSchool) {
+        this.subjectsPerSchool = subjectsPerSchool;
+    }
+    
+    public double getSkew() {
+        return skew;
+    }
+    
+    public void setSkew(double skew) {
+        this.skew = skew;
+    }
+    
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
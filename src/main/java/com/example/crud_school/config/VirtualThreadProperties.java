@@ -0,0 +1,35 @@
+package com.example.crud_school.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "school.virtual-threads")
+public class VirtualThreadProperties {
+    
+    /**
+     * Pinned intervals shorter than this are not reported.
+     */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+    
+    /**
+     * Maximum number of stack frames logged per pinned event.
+     */
+    private int pinnedStackFrames = 25;
+    
+    public Duration getPinnedThreshold() {
+        return pinnedThreshold;
+    }
+    
+    public void setPinnedThreshold(Duration pinnedThreshold) {
+        this.pinnedThreshold = pinnedThreshold;
+    }
+    
+    public int getPinnedStackFrames() {
+        return pinnedStackFrames;
+    }
+    
+    public void setPinnedStackFrames(int pinnedStackFrames) {
+        this.pinnedStackFrames = pinnedStackFrames;
+    }
+}
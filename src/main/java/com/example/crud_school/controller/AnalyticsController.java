@@ -0,0 +1,66 @@
+package com.example.crud_school.controller;
+
+import com.example.crud_school.analytics.EnrollmentFilter;
+import com.example.crud_school.dto.EnrollmentStatisticsDto;
+import com.example.crud_school.metrics.QueryBudget;
+import com.example.crud_school.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics", description = "Server-side enrollment aggregates")
+public class AnalyticsController {
+    
+    private final AnalyticsService analyticsService;
+    
+    @Autowired
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+    
+    @QueryBudget(statements = 2)
+    @GetMapping("/enrollments")
+    @Operation(summary = "Enrollment statistics",
+               description = "Grade histogram, mean and percentile scores, and pass/fail/drop rates per subject, " +
+                             "class, school or academic year")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully computed statistics",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = EnrollmentStatisticsDto.class)))
+    })
+    public ResponseEntity<List<EnrollmentStatisticsDto>> getEnrollmentStatistics(
+            @Parameter(description = "What to group enrollments by")
+            @RequestParam(defaultValue = "SUBJECT") AnalyticsService.Dimension groupBy,
+            @Parameter(description = "Only include enrollments in this school's subjects")
+            @RequestParam(required = false) Long schoolId,
+            @Parameter(description = "Only include enrollments in classes of this academic year")
+            @RequestParam(required = false) Integer academicYear,
+            @Parameter(description = "Only include enrollments with this status")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Only include enrollments made on or after this date (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate enrolledFrom,
+            @Parameter(description = "Only include enrollments made on or before this date (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate enrolledTo) {
+        EnrollmentFilter filter = new EnrollmentFilter(schoolId, academicYear);
+        filter.setStatus(status);
+        filter.setEnrolledFrom(enrolledFrom);
+        filter.setEnrolledTo(enrolledTo);
+        return ResponseEntity.ok(analyticsService.getEnrollmentStatistics(groupBy, filter));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.crud_school.controller;
+
+import com.example.crud_school.dto.CacheStatisticsDto;
+import com.example.crud_school.service.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache Management", description = "APIs for inspecting the entity cache")
+public class CacheController {
+    
+    private final CacheStatisticsService cacheStatisticsService;
+    
+    @Autowired
+    public CacheController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+    
+    @GetMapping("/statistics")
+    @Operation(summary = "Get cache statistics", description = "Hit, miss and put counts for the second-level and query caches")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = CacheStatisticsDto.class)))
+    })
+    public ResponseEntity<CacheStatisticsDto> getStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getStatistics());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.crud_school.controller;
+
+import com.example.crud_school.service.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Clears every second-level and query cache region, which sends the next reads of every cached
+ * entity to the database at once. It is only registered with {@code school.diagnostics.enabled=true},
+ * like the other load-test endpoints.
+ */
+@RestController
+@RequestMapping("/api/cache")
+@ConditionalOnProperty(name = "school.diagnostics.enabled", havingValue = "true")
+@Tag(name = "Cache Management", description = "APIs for inspecting the entity cache")
+public class CacheEvictionController {
+    
+    private final CacheStatisticsService cacheStatisticsService;
+    
+    @Autowired
+    public CacheEvictionController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+    
+    @DeleteMapping
+    @Operation(summary = "Clear the cache", description = "Evict every second-level and query cache region")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Cache cleared")
+    })
+    public ResponseEntity<Void> evictAll() {
+        cacheStatisticsService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.crud_school.controller;
+
+import com.example.crud_school.dto.BulkIngestResultDto;
+import com.example.crud_school.dto.EnrollmentDto;
+import com.example.crud_school.service.EnrollmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/enrollments")
+@Tag(name = "Enrollment Management", description = "APIs for managing enrollments")
+public class EnrollmentController {
+    
+    private final EnrollmentService enrollmentService;
+    
+    @Autowired
+    public EnrollmentController(EnrollmentService enrollmentService) {
+        this.enrollmentService = enrollmentService;
+    }
+    
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all enrollments",
+               description = "Stream every enrollment as newline-delimited JSON, one object per line")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    })
+    public ResponseEntity<StreamingResponseBody> exportEnrollments() {
+        StreamingResponseBody body = enrollmentService::exportEnrollments;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Bulk ingest enrollments",
+               description = "Insert many enrollments in batched transactions. The body is read as a stream, " +
+                             "so it can be any size. Rows that fail are reported individually and do not abort " +
+                             "the rest of the load")
+    @RequestBody(description = "Enrollments to insert, as a JSON array or newline-delimited JSON", required = true,
+                 content = {
+                     @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                              array = @ArraySchema(schema = @Schema(implementation = EnrollmentDto.class))),
+                     @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                              schema = @Schema(implementation = EnrollmentDto.class))
+                 })
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ingest finished; see the result for rejected rows",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = BulkIngestResultDto.class)))
+    })
+    public ResponseEntity<BulkIngestResultDto> ingestEnrollments(InputStream body) throws IOException {
+        return ResponseEntity.ok(enrollmentService.ingestEnrollments(body));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.crud_school.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Load-test endpoints that hold request threads and pooled connections on purpose. They can
+ * drain the connection pool, so they are only registered with {@code school.diagnostics.enabled=true},
+ * which the {@code virtual} profile sets.
+ */
+@RestController
+@RequestMapping("/api/test")
+@ConditionalOnProperty(name = "school.diagnostics.enabled", havingValue = "true")
+public class LoadTestController {
+    
+    private static final long MAX_BLOCK_MILLIS = 10_000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    public LoadTestController(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Blocks the request thread for {@code millis} to simulate a slow downstream call. With
+     * {@code connection=true} the wait happens inside a transaction that holds a pooled JDBC
+     * connection, as a slow query would.
+     */
+    @GetMapping("/block")
+    public String block(@RequestParam(defaultValue = "100") long millis,
+                        @RequestParam(defaultValue = "false") boolean connection) {
+        long wait = Math.max(0, Math.min(millis, MAX_BLOCK_MILLIS));
+        if (connection) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schools", Long.class);
+                sleep(wait);
+            });
+        } else {
+            sleep(wait);
+        }
+        return Thread.currentThread().isVirtual() ? "virtual" : "platform";
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
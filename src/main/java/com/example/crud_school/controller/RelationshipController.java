@@ -0,0 +1,158 @@
+package com.example.crud_school.controller;
+
+import com.example.crud_school.metrics.QueryBudget;
+import com.example.crud_school.service.RelationshipService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/api/relationships")
+@Tag(name = "Relationships", description = "ID-only relationship lookups served from an in-memory index")
+public class RelationshipController {
+    
+    private final RelationshipService relationshipService;
+    
+    @Autowired
+    public RelationshipController(RelationshipService relationshipService) {
+        this.relationshipService = relationshipService;
+    }
+    
+    @QueryBudget(statements = 0)
+    @GetMapping("/schools/{id}/classes")
+    @Operation(summary = "Get class IDs of a school", description = "Retrieve the IDs of all classes of a school in ascending order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved class IDs",
+                    content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(type = "integer", format = "int64")))),
+        @ApiResponse(responseCode = "503", description = "Relationship index is still being built")
+    })
+    public ResponseEntity<long[]> getClassIdsBySchool(
+            @Parameter(description = "School ID", required = true) @PathVariable Long id) {
+        return lookup(id, relationshipService::getClassIdsBySchool);
+    }
+    
+    @QueryBudget(statements = 0)
+    @GetMapping("/schools/{id}/students")
+    @Operation(summary = "Get student IDs of a school", description = "Retrieve the IDs of all students in the classes of a school in ascending order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved student IDs",
+                    content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(type = "integer", format = "int64")))),
+        @ApiResponse(responseCode = "503", description = "Relationship index is still being built")
+    })
+    public ResponseEntity<long[]> getStudentIdsBySchool(
+            @Parameter(description = "School ID", required = true) @PathVariable Long id) {
+        return lookup(id, relationshipService::getStudentIdsBySchool);
+    }
+    
+    @QueryBudget(statements = 0)
+    @GetMapping("/classes/{id}/students")
+    @Operation(summary = "Get student IDs of a class", description = "Retrieve the IDs of all students in a class in ascending order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved student IDs",
+                    content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(type = "integer", format = "int64")))),
+        @ApiResponse(responseCode = "503", description = "Relationship index is still being built")
+    })
+    public ResponseEntity<long[]> getStudentIdsByClass(
+            @Parameter(description = "Class ID", required = true) @PathVariable Long id) {
+        return lookup(id, relationshipService::getStudentIdsByClass);
+    }
+    
+    @QueryBudget(statements = 0)
+    @GetMapping("/teachers/{id}/subjects")
+    @Operation(summary = "Get subject IDs of a teacher", description = "Retrieve the IDs of all subjects taught by a teacher in ascending order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved subject IDs",
+                    content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(type = "integer", format = "int64")))),
+        @ApiResponse(responseCode = "503", description = "Relationship index is still being built")
+    })
+    public ResponseEntity<long[]> getSubjectIdsByTeacher(
+            @Parameter(description = "Teacher ID", required = true) @PathVariable Long id) {
+        return lookup(id, relationshipService::getSubjectIdsByTeacher);
+    }
+    
+    @QueryBudget(statements = 0)
+    @GetMapping("/students/{id}/subjects")
+    @Operation(summary = "Get subject IDs of a student", description = "Retrieve the IDs of all subjects a student is enrolled in, in ascending order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved subject IDs",
+                    content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(type = "integer", format = "int64")))),
+        @ApiResponse(responseCode = "503", description = "Relationship index is still being built")
+    })
+    public ResponseEntity<long[]> getSubjectIdsByStudent(
+            @Parameter(description = "Student ID", required = true) @PathVariable Long id) {
+        return lookup(id, relationshipService::getSubjectIdsByStudent);
+    }
+    
+    @QueryBudget(statements = 0)
+    @GetMapping("/students/{id}/enrollments")
+    @Operation(summary = "Get enrollment IDs of a student", description = "Retrieve the IDs of all enrollments of a student in ascending order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved enrollment IDs",
+                    content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(type = "integer", format = "int64")))),
+        @ApiResponse(responseCode = "503", description = "Relationship index is still being built")
+    })
+    public ResponseEntity<long[]> getEnrollmentIdsByStudent(
+            @Parameter(description = "Student ID", required = true) @PathVariable Long id) {
+        return lookup(id, relationshipService::getEnrollmentIdsByStudent);
+    }
+    
+    @QueryBudget(statements = 0)
+    @GetMapping("/subjects/{id}/enrollments")
+    @Operation(summary = "Get enrollment IDs of a subject", description = "Retrieve the IDs of all enrollments in a subject in ascending order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved enrollment IDs",
+                    content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(type = "integer", format = "int64")))),
+        @ApiResponse(responseCode = "503", description = "Relationship index is still being built")
+    })
+    public ResponseEntity<long[]> getEnrollmentIdsBySubject(
+            @Parameter(description = "Subject ID", required = true) @PathVariable Long id) {
+        return lookup(id, relationshipService::getEnrollmentIdsBySubject);
+    }
+    
+    @QueryBudget(statements = 0)
+    @GetMapping("/students/{studentId}/subjects/{subjectId}")
+    @Operation(summary = "Check an enrollment", description = "Check whether a student has an enrollment in a subject")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Student is enrolled in the subject"),
+        @ApiResponse(responseCode = "404", description = "Student is not enrolled in the subject"),
+        @ApiResponse(responseCode = "503", description = "Relationship index is still being built")
+    })
+    public ResponseEntity<Void> checkEnrollment(
+            @Parameter(description = "Student ID", required = true) @PathVariable Long studentId,
+            @Parameter(description = "Subject ID", required = true) @PathVariable Long subjectId) {
+        if (!relationshipService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return relationshipService.isEnrolled(studentId, subjectId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+    
+    private ResponseEntity<long[]> lookup(Long id, Function<Long, long[]> relation) {
+        if (!relationshipService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(relation.apply(id));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.crud_school.controller;
+
+import com.example.crud_school.dto.SchoolRevision;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ETag and Last-Modified values for SchoolController responses, computed from
+ * {@link SchoolRevision}s. A single school's ETag is {@code W/"<version>.<statisticsVersion>"};
+ * a list's is a hash over the revisions it contains, so it changes when any school in it
+ * changes, is added or is removed.
+ * <p>
+ * The tags are weak: the JSON, Smile and CBOR bodies of a revision, gzipped or not, all share
+ * one, and Tomcat does not compress responses that carry a strong ETag. Because If-Match
+ * compares strongly, a PUT names the version it read in {@value #VERSION_HEADER} instead.
+ */
+final class SchoolCacheValidators {
+    
+    static final String VERSION_HEADER = "School-Version";
+    
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private SchoolCacheValidators() {}
+    
+    static String eTag(SchoolRevision revision) {
+        return "W/\"" + revision.version() + "." + revision.statisticsVersion() + "\"";
+    }
+    
+    static String eTag(List<SchoolRevision> revisions) {
+        long hash = FNV_OFFSET_BASIS;
+        for (SchoolRevision revision : sorted(revisions)) {
+            hash = mix(hash, revision.id());
+            hash = mix(hash, revision.version());
+            hash = mix(hash, revision.statisticsVersion());
+        }
+        return "W/\"" + revisions.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+    
+    static long lastModified(SchoolRevision revision) {
+        return toEpochMilli(revision.lastModified());
+    }
+    
+    static long lastModified(List<SchoolRevision> revisions) {
+        return revisions.stream()
+                .map(SchoolRevision::lastModified)
+                .max(Comparator.naturalOrder())
+                .map(SchoolCacheValidators::toEpochMilli)
+                .orElse(-1L);
+    }
+    
+    /**
+     * Whether the request carries If-None-Match or If-Modified-Since, i.e. whether reading the
+     * revisions first can save building the response.
+     */
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+    
+    /**
+     * Checks the request against the revision and, if the client's copy is current, turns the
+     * response into a 304.
+     */
+    static boolean notModified(WebRequest request, SchoolRevision revision) {
+        return request.checkNotModified(eTag(revision), lastModified(revision));
+    }
+    
+    static boolean notModified(WebRequest request, List<SchoolRevision> revisions) {
+        return request.checkNotModified(eTag(revisions), lastModified(revisions));
+    }
+    
+    // Vary on Accept, since the same URL and ETag also serve the binary formats
+    static <T> ResponseEntity<T> ok(T body, SchoolRevision revision) {
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(eTag(revision))
+                .header(VERSION_HEADER, String.valueOf(revision.version()))
+                .lastModified(lastModified(revision))
+                .body(body);
+    }
+    
+    static <T> ResponseEntity<T> ok(T body, List<SchoolRevision> revisions) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(eTag(revisions));
+        long lastModified = lastModified(revisions);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(body);
+    }
+    
+    /**
+     * Whether an If-Match header rules the update out. If-Match uses the strong comparison
+     * (RFC 9110, section 13.1.1), which never matches the weak tags sent here, so only
+     * {@code *} lets the request through.
+     */
+    static boolean ifMatchFails(String ifMatch) {
+        return ifMatch != null && !ifMatch.trim().equals("*");
+    }
+    
+    private static List<SchoolRevision> sorted(List<SchoolRevision> revisions) {
+        return revisions.stream().sorted(Comparator.comparing(SchoolRevision::id)).toList();
+    }
+    
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+    
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.crud_school.controller;
 
+import com.example.crud_school.dto.SchoolDashboardDto;
 import com.example.crud_school.dto.SchoolDto;
+import com.example.crud_school.dto.SchoolField;
+import com.example.crud_school.dto.SchoolRevision;
 import com.example.crud_school.entity.School;
+import com.example.crud_school.metrics.QueryBudget;
+import com.example.crud_school.service.SchoolDashboardService;
 import com.example.crud_school.service.SchoolService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,105 +17,240 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.Link;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/schools")
 @Tag(name = "School Management", description = "APIs for managing schools")
 public class SchoolController {
     
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    
+    private static final String FIELDS_DESCRIPTION = "Comma-separated fields to return, e.g. id,name. " +
+            "The ID is always returned, and counts are only read when one of them is asked for";
+    
     private final SchoolService schoolService;
+    private final SchoolDashboardService dashboardService;
+    private final SchoolLinks links;
     
     @Autowired
-    public SchoolController(SchoolService schoolService) {
+    public SchoolController(SchoolService schoolService, SchoolDashboardService dashboardService, SchoolLinks links) {
         this.schoolService = schoolService;
+        this.dashboardService = dashboardService;
+        this.links = links;
     }
     
+    // A conditional request that misses reads the page's revisions, then the page
+    @QueryBudget(statements = 2)
     @GetMapping
-    @Operation(summary = "Get all schools", description = "Retrieve a list of all schools")
+    @Operation(summary = "Get all schools", description = "Retrieve schools one page at a time, ordered by ID. " +
+            "Follow the 'next' link to continue after the last school of the current page. " +
+            "Send the ETag back in If-None-Match to get a 304 while the page is unchanged.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved schools",
                     content = @Content(mediaType = "application/json", 
-                    schema = @Schema(implementation = SchoolDto.class)))
+                    schema = @Schema(implementation = SchoolDto.class))),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the given ETag or date"),
+        @ApiResponse(responseCode = "400", description = "Unknown field in 'fields'")
     })
-    public ResponseEntity<List<EntityModel<SchoolDto>>> getAllSchools() {
-        List<SchoolDto> schools = schoolService.getAllSchools();
+    public ResponseEntity<CollectionModel<EntityModel<SchoolDto>>> getAllSchools(
+            @Parameter(description = "Return schools with an ID greater than this cursor") 
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Page size (1-" + MAX_PAGE_SIZE + ", default " + DEFAULT_PAGE_SIZE + ")") 
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest request) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<SchoolDto> schools;
+        if (fields != null) {
+            Set<SchoolField> selected = SchoolField.parse(fields);
+            if (selected == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            // The one narrow query also carries the revisions a conditional request is checked against
+            schools = schoolService.getSchoolsPage(after, pageSize, selected);
+            if (SchoolCacheValidators.isConditional(request)
+                    && SchoolCacheValidators.notModified(request, revisions(schools))) {
+                return null;
+            }
+        } else {
+            if (SchoolCacheValidators.isConditional(request)
+                    && SchoolCacheValidators.notModified(request, schoolService.getSchoolRevisionsPage(after, pageSize))) {
+                return null;
+            }
+            schools = schoolService.getSchoolsPage(after, pageSize);
+        }
         List<EntityModel<SchoolDto>> schoolModels = schools.stream()
-                .map(school -> EntityModel.of(school,
-                        linkTo(methodOn(SchoolController.class).getSchoolById(school.getId())).withSelfRel(),
-                        linkTo(methodOn(SchoolController.class).getAllSchools()).withRel("schools")))
+                .map(school -> EntityModel.of(school, links.self(school.getId()), links.collection()))
                 .toList();
         
-        return ResponseEntity.ok(schoolModels);
+        CollectionModel<EntityModel<SchoolDto>> page = CollectionModel.of(schoolModels,
+                links.page(after, size, fields, IanaLinkRelations.SELF));
+        // A full page means there may be more rows past the last ID
+        if (schools.size() == pageSize) {
+            Long cursor = schools.get(schools.size() - 1).getId();
+            page.add(links.page(cursor, pageSize, fields, IanaLinkRelations.NEXT));
+        }
+        
+        return SchoolCacheValidators.ok(page, revisions(schools));
     }
     
+    @QueryBudget(statements = 2)
     @GetMapping("/{id}")
-    @Operation(summary = "Get school by ID", description = "Retrieve a school by its ID")
+    @Operation(summary = "Get school by ID", description = "Retrieve a school by its ID. " +
+            "Send the ETag back in If-None-Match to get a 304 while the school and its counts are unchanged.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved school",
                     content = @Content(mediaType = "application/json", 
                     schema = @Schema(implementation = SchoolDto.class))),
+        @ApiResponse(responseCode = "304", description = "School unchanged since the given ETag or date"),
+        @ApiResponse(responseCode = "400", description = "Unknown field in 'fields'"),
         @ApiResponse(responseCode = "404", description = "School not found")
     })
     public ResponseEntity<EntityModel<SchoolDto>> getSchoolById(
-            @Parameter(description = "School ID", required = true) @PathVariable Long id) {
-        Optional<SchoolDto> school = schoolService.getSchoolById(id);
+            @Parameter(description = "School ID", required = true) @PathVariable Long id,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Optional<SchoolDto> school;
+        if (fields != null) {
+            Set<SchoolField> selected = SchoolField.parse(fields);
+            if (selected == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            school = schoolService.getSchoolById(id, selected);
+            if (school.isPresent() && SchoolCacheValidators.isConditional(request)
+                    && SchoolCacheValidators.notModified(request, school.get().getRevision())) {
+                return null;
+            }
+        } else {
+            if (SchoolCacheValidators.isConditional(request)) {
+                Optional<SchoolRevision> revision = schoolService.getSchoolRevision(id);
+                if (revision.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                }
+                if (SchoolCacheValidators.notModified(request, revision.get())) {
+                    return null;
+                }
+            }
+            school = schoolService.getSchoolById(id);
+        }
         
         return school.map(schoolDto -> {
             EntityModel<SchoolDto> model = EntityModel.of(schoolDto);
-            model.add(linkTo(methodOn(SchoolController.class).getSchoolById(id)).withSelfRel());
-            model.add(linkTo(methodOn(SchoolController.class).getAllSchools()).withRel("schools"));
-            return ResponseEntity.ok(model);
+            model.add(links.self(id));
+            model.add(links.collection());
+            return SchoolCacheValidators.ok(model, schoolDto.getRevision());
         }).orElse(ResponseEntity.notFound().build());
     }
     
+    @QueryBudget(statements = 5)
+    @GetMapping("/{id}/dashboard")
+    @Operation(summary = "Get school dashboard", description = "Retrieve a school with its teachers, classes, subjects " +
+            "and per-subject enrollment statistics in one call. The sections are read in parallel; any that fail or " +
+            "time out are omitted and listed under 'incomplete'.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved dashboard",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = SchoolDashboardDto.class))),
+        @ApiResponse(responseCode = "404", description = "School not found")
+    })
+    public ResponseEntity<SchoolDashboardDto> getSchoolDashboard(
+            @Parameter(description = "School ID", required = true) @PathVariable Long id) {
+        return dashboardService.getDashboard(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @QueryBudget(statements = 2)
     @GetMapping("/search")
     @Operation(summary = "Search schools by name", description = "Search schools by name containing the given string")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved schools",
                     content = @Content(mediaType = "application/json", 
-                    schema = @Schema(implementation = SchoolDto.class)))
+                    schema = @Schema(implementation = SchoolDto.class))),
+        @ApiResponse(responseCode = "304", description = "Results unchanged since the given ETag or date"),
+        @ApiResponse(responseCode = "400", description = "Unknown field in 'fields'")
     })
     public ResponseEntity<List<EntityModel<SchoolDto>>> searchSchoolsByName(
             @Parameter(description = "School name to search for", required = true) 
-            @RequestParam String name) {
-        List<SchoolDto> schools = schoolService.searchSchoolsByName(name);
+            @RequestParam String name,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest request) {
+        List<SchoolDto> schools;
+        if (fields != null) {
+            Set<SchoolField> selected = SchoolField.parse(fields);
+            if (selected == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            schools = schoolService.searchSchoolsByName(name, selected);
+            if (SchoolCacheValidators.isConditional(request)
+                    && SchoolCacheValidators.notModified(request, revisions(schools))) {
+                return null;
+            }
+        } else {
+            if (SchoolCacheValidators.isConditional(request)
+                    && SchoolCacheValidators.notModified(request, schoolService.searchSchoolRevisionsByName(name))) {
+                return null;
+            }
+            schools = schoolService.searchSchoolsByName(name);
+        }
         List<EntityModel<SchoolDto>> schoolModels = schools.stream()
-                .map(school -> EntityModel.of(school,
-                        linkTo(methodOn(SchoolController.class).getSchoolById(school.getId())).withSelfRel(),
-                        linkTo(methodOn(SchoolController.class).getAllSchools()).withRel("schools")))
+                .map(school -> EntityModel.of(school, links.self(school.getId()), links.collection()))
                 .toList();
         
-        return ResponseEntity.ok(schoolModels);
+        return SchoolCacheValidators.ok(schoolModels, revisions(schools));
     }
     
+    @QueryBudget(statements = 2)
     @GetMapping("/city/{city}")
     @Operation(summary = "Get schools by city", description = "Retrieve schools in a specific city")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved schools",
                     content = @Content(mediaType = "application/json", 
-                    schema = @Schema(implementation = SchoolDto.class)))
+                    schema = @Schema(implementation = SchoolDto.class))),
+        @ApiResponse(responseCode = "304", description = "Results unchanged since the given ETag or date"),
+        @ApiResponse(responseCode = "400", description = "Unknown field in 'fields'")
     })
     public ResponseEntity<List<EntityModel<SchoolDto>>> getSchoolsByCity(
-            @Parameter(description = "City name", required = true) @PathVariable String city) {
-        List<SchoolDto> schools = schoolService.getSchoolsByCity(city);
+            @Parameter(description = "City name", required = true) @PathVariable String city,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            WebRequest request) {
+        List<SchoolDto> schools;
+        if (fields != null) {
+            Set<SchoolField> selected = SchoolField.parse(fields);
+            if (selected == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            schools = schoolService.getSchoolsByCity(city, selected);
+            if (SchoolCacheValidators.isConditional(request)
+                    && SchoolCacheValidators.notModified(request, revisions(schools))) {
+                return null;
+            }
+        } else {
+            if (SchoolCacheValidators.isConditional(request)
+                    && SchoolCacheValidators.notModified(request, schoolService.getSchoolRevisionsByCity(city))) {
+                return null;
+            }
+            schools = schoolService.getSchoolsByCity(city);
+        }
         List<EntityModel<SchoolDto>> schoolModels = schools.stream()
-                .map(school -> EntityModel.of(school,
-                        linkTo(methodOn(SchoolController.class).getSchoolById(school.getId())).withSelfRel(),
-                        linkTo(methodOn(SchoolController.class).getAllSchools()).withRel("schools")))
+                .map(school -> EntityModel.of(school, links.self(school.getId()), links.collection()))
                 .toList();
         
-        return ResponseEntity.ok(schoolModels);
+        return SchoolCacheValidators.ok(schoolModels, revisions(schools));
     }
     
     @PostMapping
@@ -128,38 +268,56 @@ public class SchoolController {
         try {
             SchoolDto createdSchool = schoolService.createSchool(school);
             EntityModel<SchoolDto> model = EntityModel.of(createdSchool);
-            model.add(linkTo(methodOn(SchoolController.class).getSchoolById(createdSchool.getId())).withSelfRel());
-            model.add(linkTo(methodOn(SchoolController.class).getAllSchools()).withRel("schools"));
+            model.add(links.self(createdSchool.getId()));
+            model.add(links.collection());
             
-            return ResponseEntity.status(HttpStatus.CREATED).body(model);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .eTag(SchoolCacheValidators.eTag(createdSchool.getRevision()))
+                    .header(SchoolCacheValidators.VERSION_HEADER, String.valueOf(createdSchool.getRevision().version()))
+                    .body(model);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
     
     @PutMapping("/{id}")
-    @Operation(summary = "Update a school", description = "Update an existing school with the provided details")
+    @Operation(summary = "Update a school", description = "Update an existing school with the provided details. " +
+            "Send the School-Version header of a read to update only the version you read; the check covers " +
+            "the school's own fields, not its counts.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "School updated successfully",
                     content = @Content(mediaType = "application/json", 
                     schema = @Schema(implementation = SchoolDto.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
         @ApiResponse(responseCode = "404", description = "School not found"),
-        @ApiResponse(responseCode = "409", description = "School with this name already exists")
+        @ApiResponse(responseCode = "409", description = "School with this name already exists, " +
+                "or it was changed by a concurrent update"),
+        @ApiResponse(responseCode = "412", description = "School changed since the version in School-Version, " +
+                "or If-Match named a tag other than *")
     })
     public ResponseEntity<EntityModel<SchoolDto>> updateSchool(
             @Parameter(description = "School ID", required = true) @PathVariable Long id,
+            @Parameter(description = "Version of the school being updated, from the School-Version header of a read") 
+            @RequestHeader(value = SchoolCacheValidators.VERSION_HEADER, required = false) Long expectedVersion,
+            @Parameter(description = "Only * can match, since the school ETags are weak") 
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Updated school details", required = true) 
             @Valid @RequestBody School schoolDetails) {
+        if (SchoolCacheValidators.ifMatchFails(ifMatch)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         try {
-            Optional<SchoolDto> updatedSchool = schoolService.updateSchool(id, schoolDetails);
+            Optional<SchoolDto> updatedSchool = schoolService.updateSchool(id, schoolDetails, expectedVersion);
             
             return updatedSchool.map(schoolDto -> {
                 EntityModel<SchoolDto> model = EntityModel.of(schoolDto);
-                model.add(linkTo(methodOn(SchoolController.class).getSchoolById(id)).withSelfRel());
-                model.add(linkTo(methodOn(SchoolController.class).getAllSchools()).withRel("schools"));
-                return ResponseEntity.ok(model);
+                model.add(links.self(id));
+                model.add(links.collection());
+                return SchoolCacheValidators.ok(model, schoolDto.getRevision());
             }).orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                    .build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
@@ -177,6 +335,7 @@ public class SchoolController {
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
     
+    @QueryBudget(statements = 1)
     @GetMapping("/count")
     @Operation(summary = "Get total schools count", description = "Get the total number of schools")
     @ApiResponses(value = {
@@ -186,4 +345,8 @@ public class SchoolController {
         long count = schoolService.getTotalSchoolsCount();
         return ResponseEntity.ok(count);
     }
+    
+    private static List<SchoolRevision> revisions(List<SchoolDto> schools) {
+        return schools.stream().map(SchoolDto::getRevision).toList();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.example.crud_school.controller;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the links SchoolController attaches to its responses without going through
+ * {@code linkTo(methodOn(...))}. Path templates are read from the controller's mappings once at
+ * startup, and the base URI is resolved once per request; each link is then a string
+ * concatenation. The hrefs are identical to the ones WebMvcLinkBuilder produces.
+ */
+@Component
+public class SchoolLinks {
+    
+    static final LinkRelation SCHOOLS = LinkRelation.of("schools");
+    
+    private static final String BASE_URI_ATTRIBUTE = SchoolLinks.class.getName() + ".baseUri";
+    
+    private final PathTemplate schools = PathTemplate.of(SchoolController.class, "getAllSchools");
+    private final PathTemplate school = PathTemplate.of(SchoolController.class, "getSchoolById");
+    
+    /**
+     * Self link of a single school, e.g. {@code http://host/api/schools/42}.
+     */
+    public Link self(Long id) {
+        return Link.of(baseUri() + school.expand(id), IanaLinkRelations.SELF);
+    }
+    
+    /**
+     * Link to the school collection root, e.g. {@code http://host/api/schools}.
+     */
+    public Link collection() {
+        return Link.of(baseUri() + schools.expand(), SCHOOLS);
+    }
+    
+    /**
+     * Link to a page of the school collection. Null parameters are left out of the query string.
+     */
+    public Link page(Long after, Integer size, String fields, LinkRelation rel) {
+        StringBuilder href = new StringBuilder(baseUri()).append(schools.expand());
+        char separator = '?';
+        if (after != null) {
+            href.append(separator).append("after=").append(after);
+            separator = '&';
+        }
+        if (size != null) {
+            href.append(separator).append("size=").append(size);
+            separator = '&';
+        }
+        if (fields != null) {
+            href.append(separator).append("fields=").append(UriUtils.encode(fields, StandardCharsets.UTF_8));
+        }
+        return Link.of(href.toString(), rel);
+    }
+    
+    // Scheme, host, port and context path of the current request, honouring forwarded headers
+    private static String baseUri() {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+    
+    /**
+     * A controller method's mapping path split into literal text and {@code {variable}} slots.
+     */
+    private static final class PathTemplate {
+        
+        private final String[] literals;
+        
+        private PathTemplate(String template) {
+            List<String> parts = new ArrayList<>();
+            int start = 0;
+            int open;
+            while ((open = template.indexOf('{', start)) >= 0) {
+                parts.add(template.substring(start, open));
+                start = template.indexOf('}', open) + 1;
+            }
+            parts.add(template.substring(start));
+            this.literals = parts.toArray(String[]::new);
+        }
+        
+        static PathTemplate of(java.lang.Class<?> controller, String methodName) {
+            Method method = ReflectionUtils.findMethod(controller, methodName, (java.lang.Class<?>[]) null);
+            return new PathTemplate(path(controller) + path(method));
+        }
+        
+        private static String path(java.lang.reflect.AnnotatedElement element) {
+            RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(element, RequestMapping.class);
+            return mapping != null && mapping.path().length > 0 ? mapping.path()[0] : "";
+        }
+        
+        String expand(Object... values) {
+            if (values.length != literals.length - 1) {
+                throw new IllegalArgumentException("Expected " + (literals.length - 1) + " values");
+            }
+            StringBuilder path = new StringBuilder(literals[0]);
+            for (int i = 0; i < values.length; i++) {
+                path.append(UriUtils.encodePathSegment(String.valueOf(values[i]), StandardCharsets.UTF_8))
+                        .append(literals[i + 1]);
+            }
+            return path.toString();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.crud_school.controller;
+
+import com.example.crud_school.dto.StudentDto;
+import com.example.crud_school.dto.TeacherDto;
+import com.example.crud_school.metrics.QueryBudget;
+import com.example.crud_school.search.EntitySearchIndex;
+import com.example.crud_school.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@Tag(name = "Search", description = "Substring search over student and teacher names, addresses and emails")
+public class SearchController {
+    
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 1000;
+    
+    private final SearchService searchService;
+    
+    @Autowired
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+    
+    @QueryBudget(statements = 1)
+    @GetMapping("/students")
+    @Operation(summary = "Search students", description = "Case-insensitive substring search on a student field")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved students",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = StudentDto.class))),
+        @ApiResponse(responseCode = "503", description = "Search index is still being built")
+    })
+    public ResponseEntity<List<StudentDto>> searchStudents(
+            @Parameter(description = "Text to search for", required = true) @RequestParam String q,
+            @Parameter(description = "Field to search") 
+            @RequestParam(defaultValue = "NAME") EntitySearchIndex.Field field,
+            @Parameter(description = "Maximum number of results (1-" + MAX_LIMIT + ")") 
+            @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        if (!searchService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(searchService.searchStudents(field, q, clamp(limit)));
+    }
+    
+    @QueryBudget(statements = 1)
+    @GetMapping("/teachers")
+    @Operation(summary = "Search teachers", description = "Case-insensitive substring search on a teacher field")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved teachers",
+                    content = @Content(mediaType = "application/json", 
+                    schema = @Schema(implementation = TeacherDto.class))),
+        @ApiResponse(responseCode = "503", description = "Search index is still being built")
+    })
+    public ResponseEntity<List<TeacherDto>> searchTeachers(
+            @Parameter(description = "Text to search for", required = true) @RequestParam String q,
+            @Parameter(description = "Field to search") 
+            @RequestParam(defaultValue = "NAME") EntitySearchIndex.Field field,
+            @Parameter(description = "Maximum number of results (1-" + MAX_LIMIT + ")") 
+            @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        if (!searchService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(searchService.searchTeachers(field, q, clamp(limit)));
+    }
+    
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
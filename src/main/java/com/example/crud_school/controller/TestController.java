@@ -1,13 +1,25 @@
 package com.example.crud_school.controller;
 
+import com.example.crud_school.diagnostics.VirtualThreadPinningMonitor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/test")
 public class TestController {
     
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+    
+    @Autowired
+    public TestController(ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor) {
+        this.pinningMonitor = pinningMonitor;
+    }
+    
     @GetMapping
     public String test() {
         return "School Database CRUD Application is running!";
@@ -17,4 +29,10 @@ public class TestController {
     public String health() {
         return "Application is healthy!";
     }
+    
+    @GetMapping("/pinning")
+    public Map<String, Long> pinning() {
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        return monitor != null ? monitor.getPinnedCounts() : Map.of();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.example.crud_school.diagnostics;
+
+import com.example.crud_school.config.VirtualThreadProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events while virtual threads are enabled and
+ * logs where a carrier thread was held. Each event is attributed to the innermost application
+ * frame, which for the JPA paths is normally the {@code SchoolService} method that opened the
+ * transaction.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.example.crud_school.";
+    private static final String TRANSACTION_INTERCEPTOR = "org.springframework.transaction.interceptor.TransactionInterceptor";
+    
+    private final VirtualThreadProperties properties;
+    private final Map<String, LongAdder> pinnedBySource = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+    
+    public VirtualThreadPinningMonitor(VirtualThreadProperties properties) {
+        this.properties = properties;
+    }
+    
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+                .withThreshold(properties.getPinnedThreshold())
+                .withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("Reporting virtual thread pinning longer than {} ms", properties.getPinnedThreshold().toMillis());
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+    
+    /**
+     * Number of pinned events seen so far, keyed by the application method they occurred under.
+     */
+    public Map<String, Long> getPinnedCounts() {
+        Map<String, Long> counts = new ConcurrentHashMap<>();
+        pinnedBySource.forEach((source, count) -> counts.put(source, count.sum()));
+        return counts;
+    }
+    
+    private void report(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        
+        String source = "unknown";
+        boolean transactional = false;
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (source.equals("unknown") && type.startsWith(APPLICATION_PACKAGE)) {
+                source = type.substring(APPLICATION_PACKAGE.length()) + "." + frame.getMethod().getName();
+            }
+            transactional |= type.equals(TRANSACTION_INTERCEPTOR);
+        }
+        pinnedBySource.computeIfAbsent(source, key -> new LongAdder()).increment();
+        
+        StringBuilder trace = new StringBuilder();
+        int limit = Math.min(frames.size(), properties.getPinnedStackFrames());
+        for (int i = 0; i < limit; i++) {
+            RecordedFrame frame = frames.get(i);
+            trace.append("\n\tat ").append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        if (stackTrace != null && stackTrace.isTruncated()) {
+            trace.append("\n\t... (truncated, raise -XX:FlightRecorderOptions:stackdepth)");
+        }
+        log.warn("Virtual thread pinned for {} ms in {}{}{}", event.getDuration().toMillis(), source,
+                transactional ? " (inside @Transactional)" : "", trace);
+    }
+}
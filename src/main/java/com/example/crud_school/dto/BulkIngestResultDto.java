@@ -0,0 +1,146 @@
+package com.example.crud_school.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk ingest request")
+public class BulkIngestResultDto {
+    
+    @Schema(description = "Number of rows received")
+    private int received;
+    
+    @Schema(description = "Number of rows written")
+    private int inserted;
+    
+    @Schema(description = "Number of rows rejected")
+    private int failed;
+    
+    @Schema(description = "Number of batches the rows were split into")
+    private int batches;
+    
+    @Schema(description = "Wall-clock time spent writing, in milliseconds")
+    private long elapsedMillis;
+    
+    @Schema(description = "Write throughput in rows per second")
+    private double rowsPerSecond;
+    
+    @Schema(description = "Rejected rows with the reason they failed")
+    private List<RowFailure> failures = new ArrayList<>();
+    
+    // Constructors
+    public BulkIngestResultDto() {}
+    
+    public BulkIngestResultDto(int received) {
+        this.received = received;
+    }
+    
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+    
+    public void setReceived(int received) {
+        this.received = received;
+    }
+    
+    public int getInserted() {
+        return inserted;
+    }
+    
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public int getBatches() {
+        return batches;
+    }
+    
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+    
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+    
+    public List<RowFailure> getFailures() {
+        return failures;
+    }
+    
+    public void setFailures(List<RowFailure> failures) {
+        this.failures = failures;
+    }
+    
+    // Helper methods
+    public void addFailure(int batch, int row, String message) {
+        failures.add(new RowFailure(batch, row, message));
+        failed++;
+    }
+    
+    @Schema(description = "A row that could not be written")
+    public static class RowFailure {
+        
+        @Schema(description = "Zero-based batch index")
+        private int batch;
+        
+        @Schema(description = "Zero-based position of the row in the request")
+        private int row;
+        
+        @Schema(description = "Reason the row was rejected")
+        private String message;
+        
+        public RowFailure() {}
+        
+        public RowFailure(int batch, int row, String message) {
+            this.batch = batch;
+            this.row = row;
+            this.message = message;
+        }
+        
+        public int getBatch() {
+            return batch;
+        }
+        
+        public void setBatch(int batch) {
+            this.batch = batch;
+        }
+        
+        public int getRow() {
+            return row;
+        }
+        
+        public void setRow(int row) {
+            this.row = row;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.crud_school.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Hibernate second-level and query cache statistics")
+public class CacheStatisticsDto {
+    
+    @Schema(description = "Entity cache hits across all regions")
+    private long secondLevelHits;
+    
+    @Schema(description = "Entity cache misses across all regions")
+    private long secondLevelMisses;
+    
+    @Schema(description = "Entity cache puts across all regions")
+    private long secondLevelPuts;
+    
+    @Schema(description = "Query cache hits")
+    private long queryHits;
+    
+    @Schema(description = "Query cache misses")
+    private long queryMisses;
+    
+    @Schema(description = "Query cache puts")
+    private long queryPuts;
+    
+    @Schema(description = "Per-region statistics, including the query results region")
+    private List<RegionStatistics> regions = new ArrayList<>();
+    
+    // Getters and Setters
+    public long getSecondLevelHits() {
+        return secondLevelHits;
+    }
+    
+    public void setSecondLevelHits(long secondLevelHits) {
+        this.secondLevelHits = secondLevelHits;
+    }
+    
+    public long getSecondLevelMisses() {
+        return secondLevelMisses;
+    }
+    
+    public void setSecondLevelMisses(long secondLevelMisses) {
+        this.secondLevelMisses = secondLevelMisses;
+    }
+    
+    public long getSecondLevelPuts() {
+        return secondLevelPuts;
+    }
+    
+    public void setSecondLevelPuts(long secondLevelPuts) {
+        this.secondLevelPuts = secondLevelPuts;
+    }
+    
+    public long getQueryHits() {
+        return queryHits;
+    }
+    
+    public void setQueryHits(long queryHits) {
+        this.queryHits = queryHits;
+    }
+    
+    public long getQueryMisses() {
+        return queryMisses;
+    }
+    
+    public void setQueryMisses(long queryMisses) {
+        this.queryMisses = queryMisses;
+    }
+    
+    public long getQueryPuts() {
+        return queryPuts;
+    }
+    
+    public void setQueryPuts(long queryPuts) {
+        this.queryPuts = queryPuts;
+    }
+    
+    public List<RegionStatistics> getRegions() {
+        return regions;
+    }
+    
+    public void setRegions(List<RegionStatistics> regions) {
+        this.regions = regions;
+    }
+    
+    @Schema(description = "Statistics for a single cache region")
+    public static class RegionStatistics {
+        
+        @Schema(description = "Region name", example = "com.example.crud_school.entity.School")
+        private String region;
+        
+        private long hits;
+        
+        private long misses;
+        
+        private long puts;
+        
+        @Schema(description = "Entries currently held in memory, or -1 if the provider does not report it")
+        private long elementCount;
+        
+        public RegionStatistics() {}
+        
+        public RegionStatistics(String region, long hits, long misses, long puts, long elementCount) {
+            this.region = region;
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.elementCount = elementCount;
+        }
+        
+        public String getRegion() {
+            return region;
+        }
+        
+        public void setRegion(String region) {
+            this.region = region;
+        }
+        
+        public long getHits() {
+            return hits;
+        }
+        
+        public void setHits(long hits) {
+            this.hits = hits;
+        }
+        
+        public long getMisses() {
+            return misses;
+        }
+        
+        public void setMisses(long misses) {
+            this.misses = misses;
+        }
+        
+        public long getPuts() {
+            return puts;
+        }
+        
+        public void setPuts(long puts) {
+            this.puts = puts;
+        }
+        
+        public long getElementCount() {
+            return elementCount;
+        }
+        
+        public void setElementCount(long elementCount) {
+            this.elementCount = elementCount;
+        }
+    }
+}
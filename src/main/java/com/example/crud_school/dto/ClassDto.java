@@ -0,0 +1,130 @@
+package com.example.crud_school.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Class Data Transfer Object")
+public class ClassDto {
+    
+    @Schema(description = "Class ID", example = "1")
+    private Long id;
+    
+    @Schema(description = "Class name", example = "Grade 10A")
+    private String name;
+    
+    @Schema(description = "Class code", example = "G10A")
+    private String code;
+    
+    @Schema(description = "Class description", example = "Grade 10 Section A")
+    private String description;
+    
+    @Schema(description = "Grade level", example = "10")
+    private Integer gradeLevel;
+    
+    @Schema(description = "Academic year", example = "2024")
+    private Integer academicYear;
+    
+    @Schema(description = "Room number", example = "Room 101")
+    private String roomNumber;
+    
+    @Schema(description = "School ID", example = "1")
+    private Long schoolId;
+    
+    @Schema(description = "Homeroom teacher ID", example = "1")
+    private Long teacherId;
+    
+    // Constructors
+    public ClassDto() {}
+    
+    public ClassDto(Long id, String name, String code, String description, Integer gradeLevel, Integer academicYear, String roomNumber) {
+        this.id = id;
+        this.name = name;
+        this.code = code;
+        this.description = description;
+        this.gradeLevel = gradeLevel;
+        this.academicYear = academicYear;
+        this.roomNumber = roomNumber;
+    }
+    
+    // Projection constructor for queries that select only the DTO columns
+    public ClassDto(Long id, String name, String code, String description, Integer gradeLevel, Integer academicYear, String roomNumber,
+                    Long schoolId, Long teacherId) {
+        this(id, name, code, description, gradeLevel, academicYear, roomNumber);
+        this.schoolId = schoolId;
+        this.teacherId = teacherId;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    public void setCode(String code) {
+        this.code = code;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Integer getGradeLevel() {
+        return gradeLevel;
+    }
+    
+    public void setGradeLevel(Integer gradeLevel) {
+        this.gradeLevel = gradeLevel;
+    }
+    
+    public Integer getAcademicYear() {
+        return academicYear;
+    }
+    
+    public void setAcademicYear(Integer academicYear) {
+        this.academicYear = academicYear;
+    }
+    
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+    
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+    
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
+    public void setSchoolId(Long schoolId) {
+        this.schoolId = schoolId;
+    }
+    
+    public Long getTeacherId() {
+        return teacherId;
+    }
+    
+    public void setTeacherId(Long teacherId) {
+        this.teacherId = teacherId;
+    }
+}
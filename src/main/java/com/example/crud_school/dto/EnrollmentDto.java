@@ -0,0 +1,134 @@
+package com.example.crud_school.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Enrollment Data Transfer Object")
+public class EnrollmentDto {
+    
+    @Schema(description = "Enrollment ID", example = "1")
+    private Long id;
+    
+    @Schema(description = "Enrolled student ID", example = "1")
+    private Long studentId;
+    
+    @Schema(description = "Subject ID", example = "1")
+    private Long subjectId;
+    
+    @Schema(description = "Class ID", example = "1")
+    private Long classId;
+    
+    @Schema(description = "Enrollment date", example = "2024-09-01")
+    private LocalDate enrollmentDate;
+    
+    @Schema(description = "Completion date", example = "2025-06-30")
+    private LocalDate completionDate;
+    
+    @Schema(description = "Final grade", example = "A")
+    private String grade;
+    
+    @Schema(description = "Final score", example = "91.5")
+    private Double score;
+    
+    @Schema(description = "Enrollment status", example = "ENROLLED")
+    private String status;
+    
+    @Schema(description = "Remarks")
+    private String remarks;
+    
+    // Constructors
+    public EnrollmentDto() {}
+    
+    public EnrollmentDto(Long id, Long studentId, Long subjectId, Long classId, LocalDate enrollmentDate, String status) {
+        this.id = id;
+        this.studentId = studentId;
+        this.subjectId = subjectId;
+        this.classId = classId;
+        this.enrollmentDate = enrollmentDate;
+        this.status = status;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Long getSubjectId() {
+        return subjectId;
+    }
+    
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+    
+    public Long getClassId() {
+        return classId;
+    }
+    
+    public void setClassId(Long classId) {
+        this.classId = classId;
+    }
+    
+    public LocalDate getEnrollmentDate() {
+        return enrollmentDate;
+    }
+    
+    public void setEnrollmentDate(LocalDate enrollmentDate) {
+        this.enrollmentDate = enrollmentDate;
+    }
+    
+    public LocalDate getCompletionDate() {
+        return completionDate;
+    }
+    
+    public void setCompletionDate(LocalDate completionDate) {
+        this.completionDate = completionDate;
+    }
+    
+    public String getGrade() {
+        return grade;
+    }
+    
+    public void setGrade(String grade) {
+        this.grade = grade;
+    }
+    
+    public Double getScore() {
+        return score;
+    }
+    
+    public void setScore(Double score) {
+        this.score = score;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getRemarks() {
+        return remarks;
+    }
+    
+    public void setRemarks(String remarks) {
+        this.remarks = remarks;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+package com.example.crud_school.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Score, grade and outcome aggregates for one group of enrollments")
+public class EnrollmentStatisticsDto {
+    
+    @Schema(description = "ID of the group: subject, class or school ID, or the academic year", example = "12")
+    private Long groupId;
+    
+    @Schema(description = "Subject, class or school name; the year for academic-year groups", example = "Mathematics")
+    private String label;
+    
+    @Schema(description = "Number of enrollments in the group", example = "240")
+    private long enrollments;
+    
+    @Schema(description = "Enrollments that have a score", example = "198")
+    private long scored;
+    
+    @Schema(description = "Mean score", example = "78.4")
+    private Double meanScore;
+    
+    @Schema(description = "Lowest score", example = "31.0")
+    private Double minScore;
+    
+    @Schema(description = "25th percentile score, interpolated", example = "69.5")
+    private Double p25Score;
+    
+    @Schema(description = "Median score, interpolated", example = "79.0")
+    private Double medianScore;
+    
+    @Schema(description = "75th percentile score, interpolated", example = "88.0")
+    private Double p75Score;
+    
+    @Schema(description = "90th percentile score, interpolated", example = "94.5")
+    private Double p90Score;
+    
+    @Schema(description = "Highest score", example = "100.0")
+    private Double maxScore;
+    
+    @Schema(description = "Enrollments still in progress", example = "60")
+    private long enrolled;
+    
+    @Schema(description = "Completed (passed) enrollments", example = "150")
+    private long completed;
+    
+    @Schema(description = "Failed enrollments", example = "18")
+    private long failed;
+    
+    @Schema(description = "Dropped enrollments", example = "12")
+    private long dropped;
+    
+    @Schema(description = "Completed share of decided (completed or failed) enrollments", example = "0.893")
+    private Double passRate;
+    
+    @Schema(description = "Failed share of decided (completed or failed) enrollments", example = "0.107")
+    private Double failRate;
+    
+    @Schema(description = "Dropped share of all enrollments", example = "0.05")
+    private Double dropRate;
+    
+    @Schema(description = "Number of enrollments per letter grade, in grade order")
+    private Map<String, Long> gradeDistribution = new LinkedHashMap<>();
+    
+    // Constructors
+    public EnrollmentStatisticsDto() {}
+    
+    public EnrollmentStatisticsDto(Long groupId, String label) {
+        this.groupId = groupId;
+        this.label = label;
+    }
+    
+    // Getters and Setters
+    public Long getGroupId() {
+        return groupId;
+    }
+    
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    public void setLabel(String label) {
+        this.label = label;
+    }
+    
+    public long getEnrollments() {
+        return enrollments;
+    }
+    
+    public void setEnrollments(long enrollments) {
+        this.enrollments = enrollments;
+    }
+    
+    public long getScored() {
+        return scored;
+    }
+    
+    public void setScored(long scored) {
+        this.scored = scored;
+    }
+    
+    public Double getMeanScore() {
+        return meanScore;
+    }
+    
+    public void setMeanScore(Double meanScore) {
+        this.meanScore = meanScore;
+    }
+    
+    public Double getMinScore() {
+        return minScore;
+    }
+    
+    public void setMinScore(Double minScore) {
+        this.minScore = minScore;
+    }
+    
+    public Double getP25Score() {
+        return p25Score;
+    }
+    
+    public void setP25Score(Double p25Score) {
+        this.p25Score = p25Score;
+    }
+    
+    public Double getMedianScore() {
+        return medianScore;
+    }
+    
+    public void setMedianScore(Double medianScore) {
+        this.medianScore = medianScore;
+    }
+    
+    public Double getP75Score() {
+        return p75Score;
+    }
+    
+    public void setP75Score(Double p75Score) {
+        this.p75Score = p75Score;
+    }
+    
+    public Double getP90Score() {
+        return p90Score;
+    }
+    
+    public void setP90Score(Double p90Score) {
+        this.p90Score = p90Score;
+    }
+    
+    public Double getMaxScore() {
+        return maxScore;
+    }
+    
+    public void setMaxScore(Double maxScore) {
+        this.maxScore = maxScore;
+    }
+    
+    public long getEnrolled() {
+        return enrolled;
+    }
+    
+    public void setEnrolled(long enrolled) {
+        this.enrolled = enrolled;
+    }
+    
+    public long getCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+    
+    public long getDropped() {
+        return dropped;
+    }
+    
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+    
+    public Double getPassRate() {
+        return passRate;
+    }
+    
+    public void setPassRate(Double passRate) {
+        this.passRate = passRate;
+    }
+    
+    public Double getFailRate() {
+        return failRate;
+    }
+    
+    public void setFailRate(Double failRate) {
+        this.failRate = failRate;
+    }
+    
+    public Double getDropRate() {
+        return dropRate;
+    }
+    
+    public void setDropRate(Double dropRate) {
+        this.dropRate = dropRate;
+    }
+    
+    public Map<String, Long> getGradeDistribution() {
+        return gradeDistribution;
+    }
+    
+    public void setGradeDistribution(Map<String, Long> gradeDistribution) {
+        this.gradeDistribution = gradeDistribution;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.crud_school.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "School with its teachers, classes, subjects and per-subject enrollment statistics")
+public class SchoolDashboardDto {
+    
+    @Schema(description = "School")
+    private SchoolDto school;
+    
+    @Schema(description = "Teachers of the school")
+    private List<TeacherDto> teachers;
+    
+    @Schema(description = "Classes of the school")
+    private List<ClassDto> classes;
+    
+    @Schema(description = "Subjects of the school")
+    private List<SubjectDto> subjects;
+    
+    @Schema(description = "Enrollment statistics per subject of the school")
+    private List<EnrollmentStatisticsDto> enrollmentStatistics;
+    
+    @Schema(description = "Sections that failed or timed out; they are left out of the response", example = "[\"enrollmentStatistics\"]")
+    private List<String> incomplete;
+    
+    // Constructors
+    public SchoolDashboardDto() {}
+    
+    // Getters and Setters
+    public SchoolDto getSchool() {
+        return school;
+    }
+    
+    public void setSchool(SchoolDto school) {
+        this.school = school;
+    }
+    
+    public List<TeacherDto> getTeachers() {
+        return teachers;
+    }
+    
+    public void setTeachers(List<TeacherDto> teachers) {
+        this.teachers = teachers;
+    }
+    
+    public List<ClassDto> getClasses() {
+        return classes;
+    }
+    
+    public void setClasses(List<ClassDto> classes) {
+        this.classes = classes;
+    }
+    
+    public List<SubjectDto> getSubjects() {
+        return subjects;
+    }
+    
+    public void setSubjects(List<SubjectDto> subjects) {
+        this.subjects = subjects;
+    }
+    
+    public List<EnrollmentStatisticsDto> getEnrollmentStatistics() {
+        return enrollmentStatistics;
+    }
+    
+    public void setEnrollmentStatistics(List<EnrollmentStatisticsDto> enrollmentStatistics) {
+        this.enrollmentStatistics = enrollmentStatistics;
+    }
+    
+    public List<String> getIncomplete() {
+        return incomplete;
+    }
+    
+    public void setIncomplete(List<String> incomplete) {
+        this.incomplete = incomplete;
+    }
+}
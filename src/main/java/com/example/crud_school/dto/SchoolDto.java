@@ -1,12 +1,15 @@
 package com.example.crud_school.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.hateoas.server.core.Relation;
 
 import java.util.List;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "School Data Transfer Object")
+@Relation(itemRelation = "school", collectionRelation = "schools")
 public class SchoolDto {
     
     @Schema(description = "School ID", example = "1")
@@ -39,6 +42,13 @@ public class SchoolDto {
     @Schema(description = "Number of classes in the school")
     private Long classCount;
     
+    @Schema(description = "School version, incremented on every update. The ETag carries it for If-Match.")
+    private Long version;
+    
+    // Validators for the ETag and Last-Modified headers, not part of the body
+    @JsonIgnore
+    private SchoolRevision revision;
+    
     // Constructors
     public SchoolDto() {}
     
@@ -131,4 +141,21 @@ public class SchoolDto {
     public void setClassCount(Long classCount) {
         this.classCount = classCount;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public SchoolRevision getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(SchoolRevision revision) {
+        this.revision = revision;
+        this.version = revision != null ? revision.version() : null;
+    }
 } 
\ No newline at end of file
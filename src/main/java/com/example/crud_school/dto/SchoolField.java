@@ -0,0 +1,71 @@
+package com.example.crud_school.dto;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link SchoolDto} fields a client can select with {@code fields=}, named as in the JSON
+ * body. The counts come from the school's statistics row, so a selection without any of them
+ * never reads it.
+ */
+public enum SchoolField {
+    
+    ID("id", false),
+    NAME("name", false),
+    DESCRIPTION("description", false),
+    ADDRESS("address", false),
+    PHONE("phone", false),
+    EMAIL("email", false),
+    STUDENT_COUNT("studentCount", true),
+    TEACHER_COUNT("teacherCount", true),
+    SUBJECT_COUNT("subjectCount", true),
+    CLASS_COUNT("classCount", true),
+    VERSION("version", false);
+    
+    private static final Map<String, SchoolField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(SchoolField::getName, Function.identity()));
+    
+    private final String name;
+    private final boolean count;
+    
+    SchoolField(String name, boolean count) {
+        this.name = name;
+        this.count = count;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public boolean isCount() {
+        return count;
+    }
+    
+    /**
+     * The fields named in a comma-separated list such as {@code id,name}, or null if the list
+     * names a field SchoolDto does not have. The ID is always selected, since links are built
+     * from it.
+     */
+    public static Set<SchoolField> parse(String fields) {
+        Set<SchoolField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            SchoolField field = BY_NAME.get(name.trim());
+            if (field == null) {
+                return null;
+            }
+            selected.add(field);
+        }
+        return selected;
+    }
+    
+    public static boolean anyCount(Set<SchoolField> fields) {
+        return fields.stream().anyMatch(SchoolField::isCount);
+    }
+}
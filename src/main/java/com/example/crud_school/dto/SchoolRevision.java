@@ -0,0 +1,22 @@
+package com.example.crud_school.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a school response depends on: the school row's version and the version of its
+ * statistics row, which changes with the counts. Read on its own by a narrow query, it lets a
+ * conditional request be answered without building the {@link SchoolDto}.
+ */
+public record SchoolRevision(
+        Long id,
+        long version,
+        long statisticsVersion,
+        LocalDateTime lastModified) {
+    
+    // Used by the JPQL constructor expression; a school without a statistics row yet has no update time for it
+    public SchoolRevision(Long id, Long version, LocalDateTime updatedAt,
+                          Long statisticsVersion, LocalDateTime statisticsUpdatedAt) {
+        this(id, version, statisticsVersion,
+                statisticsUpdatedAt != null && statisticsUpdatedAt.isAfter(updatedAt) ? statisticsUpdatedAt : updatedAt);
+    }
+}
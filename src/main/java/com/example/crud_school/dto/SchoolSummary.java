@@ -0,0 +1,31 @@
+package com.example.crud_school.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a school together with its aggregated counts,
+ * loaded in a single query instead of one COUNT query per school and relation.
+ * Rows are built by a JPQL constructor expression, so reading one costs no
+ * projection proxy. A sparse read through SchoolFieldsRepository leaves the
+ * fields it did not select null.
+ */
+public record SchoolSummary(
+        Long id,
+        String name,
+        String description,
+        String address,
+        String phone,
+        String email,
+        Long studentCount,
+        Long teacherCount,
+        Long subjectCount,
+        Long classCount,
+        Long version,
+        LocalDateTime updatedAt,
+        Long statisticsVersion,
+        LocalDateTime statisticsUpdatedAt) {
+    
+    public SchoolRevision revision() {
+        return new SchoolRevision(id, version, updatedAt, statisticsVersion, statisticsUpdatedAt);
+    }
+}
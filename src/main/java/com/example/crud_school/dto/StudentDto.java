@@ -0,0 +1,133 @@
+package com.example.crud_school.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Student Data Transfer Object")
+public class StudentDto {
+    
+    @Schema(description = "Student ID", example = "1")
+    private Long id;
+    
+    @Schema(description = "First name", example = "Alice")
+    private String firstName;
+    
+    @Schema(description = "Last name", example = "Johnson")
+    private String lastName;
+    
+    @Schema(description = "Date of birth", example = "2008-06-15")
+    private LocalDate dateOfBirth;
+    
+    @Schema(description = "Phone number", example = "+1-555-444-4444")
+    private String phone;
+    
+    @Schema(description = "Email address", example = "alice.johnson@student.edu")
+    private String email;
+    
+    @Schema(description = "Home address", example = "123 Student St")
+    private String address;
+    
+    @Schema(description = "School ID", example = "1")
+    private Long schoolId;
+    
+    @Schema(description = "Class ID", example = "1")
+    private Long classId;
+    
+    // Constructors
+    public StudentDto() {}
+    
+    public StudentDto(Long id, String firstName, String lastName, LocalDate dateOfBirth, 
+                      String phone, String email, String address) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.dateOfBirth = dateOfBirth;
+        this.phone = phone;
+        this.email = email;
+        this.address = address;
+    }
+    
+    // Projection constructor for queries that select only the DTO columns
+    public StudentDto(Long id, String firstName, String lastName, LocalDate dateOfBirth, 
+                      String phone, String email, String address, Long schoolId, Long classId) {
+        this(id, firstName, lastName, dateOfBirth, phone, email, address);
+        this.schoolId = schoolId;
+        this.classId = classId;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public LocalDate getDateOfBirth() {
+        return dateOfBirth;
+    }
+    
+    public void setDateOfBirth(LocalDate dateOfBirth) {
+        this.dateOfBirth = dateOfBirth;
+    }
+    
+    public String getPhone() {
+        return phone;
+    }
+    
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getAddress() {
+        return address;
+    }
+    
+    public void setAddress(String address) {
+        this.address = address;
+    }
+    
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
+    public void setSchoolId(Long schoolId) {
+        this.schoolId = schoolId;
+    }
+    
+    public Long getClassId() {
+        return classId;
+    }
+    
+    public void setClassId(Long classId) {
+        this.classId = classId;
+    }
+}
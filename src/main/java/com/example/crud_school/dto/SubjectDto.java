@@ -0,0 +1,105 @@
+package com.example.crud_school.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Subject Data Transfer Object")
+public class SubjectDto {
+    
+    @Schema(description = "Subject ID", example = "1")
+    private Long id;
+    
+    @Schema(description = "Subject name", example = "Mathematics")
+    private String name;
+    
+    @Schema(description = "Subject description", example = "Advanced mathematics including calculus")
+    private String description;
+    
+    @Schema(description = "Subject code", example = "MATH101")
+    private String code;
+    
+    @Schema(description = "Credits", example = "4")
+    private Integer credits;
+    
+    @Schema(description = "School ID", example = "1")
+    private Long schoolId;
+    
+    @Schema(description = "Teacher ID", example = "1")
+    private Long teacherId;
+    
+    // Constructors
+    public SubjectDto() {}
+    
+    public SubjectDto(Long id, String name, String description, String code, Integer credits) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.code = code;
+        this.credits = credits;
+    }
+    
+    // Projection constructor for queries that select only the DTO columns
+    public SubjectDto(Long id, String name, String description, String code, Integer credits, Long schoolId, Long teacherId) {
+        this(id, name, description, code, credits);
+        this.schoolId = schoolId;
+        this.teacherId = teacherId;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    public void setCode(String code) {
+        this.code = code;
+    }
+    
+    public Integer getCredits() {
+        return credits;
+    }
+    
+    public void setCredits(Integer credits) {
+        this.credits = credits;
+    }
+    
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
+    public void setSchoolId(Long schoolId) {
+        this.schoolId = schoolId;
+    }
+    
+    public Long getTeacherId() {
+        return teacherId;
+    }
+    
+    public void setTeacherId(Long teacherId) {
+        this.teacherId = teacherId;
+    }
+}
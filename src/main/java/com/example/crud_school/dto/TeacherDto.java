@@ -0,0 +1,145 @@
+package com.example.crud_school.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Teacher Data Transfer Object")
+public class TeacherDto {
+    
+    @Schema(description = "Teacher ID", example = "1")
+    private Long id;
+    
+    @Schema(description = "First name", example = "John")
+    private String firstName;
+    
+    @Schema(description = "Last name", example = "Smith")
+    private String lastName;
+    
+    @Schema(description = "Phone number", example = "+1-555-111-1111")
+    private String phone;
+    
+    @Schema(description = "Email address", example = "john.smith@springfield.edu")
+    private String email;
+    
+    @Schema(description = "Home address", example = "123 Teacher St, Springfield")
+    private String address;
+    
+    @Schema(description = "Highest qualification", example = "Master's in Mathematics")
+    private String qualification;
+    
+    @Schema(description = "Employee ID", example = "T001")
+    private String employeeId;
+    
+    @Schema(description = "Hire date", example = "2015-08-01")
+    private LocalDate hireDate;
+    
+    @Schema(description = "School ID", example = "1")
+    private Long schoolId;
+    
+    // Constructors
+    public TeacherDto() {}
+    
+    public TeacherDto(Long id, String firstName, String lastName, String phone, String email, 
+                      String address, String qualification, String employeeId, LocalDate hireDate) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.phone = phone;
+        this.email = email;
+        this.address = address;
+        this.qualification = qualification;
+        this.employeeId = employeeId;
+        this.hireDate = hireDate;
+    }
+    
+    // Projection constructor for queries that select only the DTO columns
+    public TeacherDto(Long id, String firstName, String lastName, String phone, String email, 
+                      String address, String qualification, String employeeId, LocalDate hireDate, Long schoolId) {
+        this(id, firstName, lastName, phone, email, address, qualification, employeeId, hireDate);
+        this.schoolId = schoolId;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public String getPhone() {
+        return phone;
+    }
+    
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getAddress() {
+        return address;
+    }
+    
+    public void setAddress(String address) {
+        this.address = address;
+    }
+    
+    public String getQualification() {
+        return qualification;
+    }
+    
+    public void setQualification(String qualification) {
+        this.qualification = qualification;
+    }
+    
+    public String getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public LocalDate getHireDate() {
+        return hireDate;
+    }
+    
+    public void setHireDate(LocalDate hireDate) {
+        this.hireDate = hireDate;
+    }
+    
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
+    public void setSchoolId(Long schoolId) {
+        this.schoolId = schoolId;
+    }
+}
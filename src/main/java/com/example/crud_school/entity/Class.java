@@ -4,15 +4,29 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "classes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "classes", indexes = {
+    @Index(name = "idx_classes_school", columnList = "school_id"),
+    @Index(name = "idx_classes_teacher", columnList = "teacher_id"),
+    @Index(name = "idx_classes_grade_level", columnList = "grade_level"),
+    @Index(name = "idx_classes_academic_year", columnList = "academic_year")
+})
+@NamedEntityGraph(name = Class.WITH_TEACHER, attributeNodes = @NamedAttributeNode("teacher"))
 public class Class {
     
+    public static final String WITH_TEACHER = "Class.withTeacher";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "class_seq")
+    @SequenceGenerator(name = "class_seq", sequenceName = "class_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Class name is required")
@@ -54,6 +68,11 @@ public class Class {
     @OneToMany(mappedBy = "clazz", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Enrollment> enrollments = new ArrayList<>();
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     // Constructors
     public Class() {}
     
@@ -155,6 +174,14 @@ public class Class {
         this.enrollments = enrollments;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     // Helper methods
     public String getFullClassName() {
         return name + " (Grade " + gradeLevel + ", Year " + academicYear + ")";
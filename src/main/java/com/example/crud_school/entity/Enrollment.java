@@ -2,15 +2,32 @@ package com.example.crud_school.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "enrollments")
+@Table(name = "enrollments", indexes = {
+    @Index(name = "idx_enrollments_student", columnList = "student_id"),
+    @Index(name = "idx_enrollments_subject", columnList = "subject_id"),
+    @Index(name = "idx_enrollments_student_status", columnList = "student_id, status"),
+    @Index(name = "idx_enrollments_subject_status", columnList = "subject_id, status"),
+    @Index(name = "idx_enrollments_class", columnList = "class_id"),
+    @Index(name = "idx_enrollments_status", columnList = "status"),
+    @Index(name = "idx_enrollments_enrollment_date", columnList = "enrollment_date")
+})
+@NamedEntityGraph(name = Enrollment.WITH_STUDENT_SUBJECT_CLASS, attributeNodes = {
+    @NamedAttributeNode("student"),
+    @NamedAttributeNode("subject"),
+    @NamedAttributeNode("clazz")
+})
 public class Enrollment {
     
+    public static final String WITH_STUDENT_SUBJECT_CLASS = "Enrollment.withStudentSubjectClass";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "Enrollment date is required")
@@ -50,6 +67,11 @@ public class Enrollment {
     @JoinColumn(name = "class_id")
     private Class clazz;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     // Constructors
     public Enrollment() {
         this.enrollmentDate = LocalDate.now();
@@ -161,6 +183,14 @@ public class Enrollment {
         this.clazz = clazz;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     // Helper methods
     @PreUpdate
     public void preUpdate() {
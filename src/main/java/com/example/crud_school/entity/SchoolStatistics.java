@@ -0,0 +1,73 @@
+package com.example.crud_school.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDateTime;
+
+/**
+ * Per-school row counts, kept in step with the students, teachers, subjects and classes tables
+ * by {@code SchoolStatisticsMaintainer} inside the writing transaction. Rows are updated with
+ * JDBC, so the entity is read-only and never cached.
+ */
+@Entity
+@Table(name = "school_statistics")
+@Immutable
+public class SchoolStatistics {
+    
+    @Id
+    @Column(name = "school_id")
+    private Long schoolId;
+    
+    @Column(nullable = false)
+    private long studentCount;
+    
+    @Column(nullable = false)
+    private long teacherCount;
+    
+    @Column(nullable = false)
+    private long subjectCount;
+    
+    @Column(nullable = false)
+    private long classCount;
+    
+    // Incremented on every change to the counts
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public SchoolStatistics() {}
+    
+    // Getters
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
+    public long getStudentCount() {
+        return studentCount;
+    }
+    
+    public long getTeacherCount() {
+        return teacherCount;
+    }
+    
+    public long getSubjectCount() {
+        return subjectCount;
+    }
+    
+    public long getClassCount() {
+        return classCount;
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
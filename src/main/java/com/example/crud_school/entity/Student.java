@@ -5,16 +5,26 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+    @Index(name = "idx_students_school", columnList = "school_id"),
+    @Index(name = "idx_students_class", columnList = "class_id"),
+    @Index(name = "idx_students_email", columnList = "email"),
+    @Index(name = "idx_students_date_of_birth", columnList = "date_of_birth")
+})
+@NamedEntityGraph(name = Student.WITH_CLASS, attributeNodes = @NamedAttributeNode("clazz"))
 public class Student {
     
+    public static final String WITH_CLASS = "Student.withClass";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "student_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "First name is required")
@@ -55,6 +65,11 @@ public class Student {
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Enrollment> enrollments = new ArrayList<>();
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     // Constructors
     public Student() {}
     
@@ -148,6 +163,14 @@ public class Student {
         this.enrollments = enrollments;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     // Helper methods
     public String getFullName() {
         return firstName + " " + lastName;
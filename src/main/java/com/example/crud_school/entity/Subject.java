@@ -4,15 +4,28 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "subjects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "subjects", indexes = {
+    @Index(name = "idx_subjects_school", columnList = "school_id"),
+    @Index(name = "idx_subjects_teacher", columnList = "teacher_id"),
+    @Index(name = "idx_subjects_credits", columnList = "credits")
+})
+@NamedEntityGraph(name = Subject.WITH_TEACHER, attributeNodes = @NamedAttributeNode("teacher"))
 public class Subject {
     
+    public static final String WITH_TEACHER = "Subject.withTeacher";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subject_seq")
+    @SequenceGenerator(name = "subject_seq", sequenceName = "subject_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Subject name is required")
@@ -43,6 +56,11 @@ public class Subject {
     @OneToMany(mappedBy = "subject", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Enrollment> enrollments = new ArrayList<>();
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     // Constructors
     public Subject() {}
     
@@ -117,4 +135,12 @@ public class Subject {
     public void setEnrollments(List<Enrollment> enrollments) {
         this.enrollments = enrollments;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.example.crud_school.event;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bridges Hibernate's post-commit entity events to Spring {@link EntityChangedEvent}s, so
+ * derived state (caches, indexes) only ever sees changes that were actually committed.
+ * Bulk JPQL/SQL statements bypass these events and must refresh derived state themselves.
+ */
+@Component
+public class EntityChangePublisher implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(EntityChangePublisher.class);
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public EntityChangePublisher(EntityManagerFactory entityManagerFactory,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(new EntityChangedEvent(event.getEntity(), EntityChangedEvent.Type.INSERTED, null, null));
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(new EntityChangedEvent(event.getEntity(), EntityChangedEvent.Type.UPDATED,
+                event.getPersister().getPropertyNames(), event.getOldState()));
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(new EntityChangedEvent(event.getEntity(), EntityChangedEvent.Type.DELETED,
+                event.getPersister().getPropertyNames(), event.getDeletedState()));
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+    
+    private void publish(EntityChangedEvent event) {
+        // The data is already committed; a failing listener must not surface as a failed write
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.warn("Entity change listener failed for {}", event.getEntity().getClass().getSimpleName(), e);
+        }
+    }
+}
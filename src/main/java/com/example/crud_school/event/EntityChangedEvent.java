@@ -0,0 +1,49 @@
+package com.example.crud_school.event;
+
+import java.util.Arrays;
+
+/**
+ * Published after a transaction that inserted, updated or deleted an entity has committed.
+ * For updates and deletes the state the entity had before the change is available through
+ * {@link #getOldValue(String)}.
+ */
+public class EntityChangedEvent {
+    
+    public enum Type { INSERTED, UPDATED, DELETED }
+    
+    private final Object entity;
+    private final Type type;
+    private final String[] propertyNames;
+    private final Object[] oldState;
+    
+    public EntityChangedEvent(Object entity, Type type, String[] propertyNames, Object[] oldState) {
+        this.entity = entity;
+        this.type = type;
+        this.propertyNames = propertyNames;
+        this.oldState = oldState;
+    }
+    
+    public Object getEntity() {
+        return entity;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public boolean isFor(java.lang.Class<?> entityType) {
+        return entityType.isInstance(entity);
+    }
+    
+    /**
+     * Returns the value {@code property} had before the change, or {@code null} for inserts
+     * and for properties the persister does not track.
+     */
+    public Object getOldValue(String property) {
+        if (oldState == null || propertyNames == null) {
+            return null;
+        }
+        int index = Arrays.asList(propertyNames).indexOf(property);
+        return index >= 0 ? oldState[index] : null;
+    }
+}
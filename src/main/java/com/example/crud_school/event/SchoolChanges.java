@@ -0,0 +1,62 @@
+package com.example.crud_school.event;
+
+import com.example.crud_school.entity.Class;
+import com.example.crud_school.entity.School;
+import com.example.crud_school.entity.Student;
+import com.example.crud_school.entity.Subject;
+import com.example.crud_school.entity.Teacher;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Works out which schools' aggregated data (the {@code SchoolDto} fields and counts) an
+ * entity change touches.
+ */
+public final class SchoolChanges {
+    
+    private SchoolChanges() {}
+    
+    /**
+     * Returns the IDs of every school whose data may have changed, including the previous
+     * school of a student, teacher, subject or class that was moved.
+     */
+    public static Set<Long> affectedSchoolIds(EntityChangedEvent event) {
+        Set<Long> schoolIds = new HashSet<>();
+        Object entity = event.getEntity();
+        School current;
+        if (entity instanceof School school) {
+            addId(schoolIds, school);
+            return schoolIds;
+        } else if (entity instanceof Student student) {
+            current = student.getSchool();
+        } else if (entity instanceof Teacher teacher) {
+            current = teacher.getSchool();
+        } else if (entity instanceof Subject subject) {
+            current = subject.getSchool();
+        } else if (entity instanceof Class clazz) {
+            current = clazz.getSchool();
+        } else {
+            return schoolIds;
+        }
+        addId(schoolIds, current);
+        if (event.getOldValue("school") instanceof School previous) {
+            addId(schoolIds, previous);
+        }
+        return schoolIds;
+    }
+    
+    /**
+     * Whether the change can alter which schools exist or which ones match a name/city filter.
+     */
+    public static boolean changesSchoolMembership(EntityChangedEvent event) {
+        return event.isFor(School.class);
+    }
+    
+    private static void addId(Set<Long> ids, School school) {
+        // getId() on an uninitialized proxy does not hit the database
+        if (school != null && school.getId() != null) {
+            ids.add(school.getId());
+        }
+    }
+}
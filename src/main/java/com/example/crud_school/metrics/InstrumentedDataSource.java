@@ -0,0 +1,112 @@
+package com.example.crud_school.metrics;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Wraps a DataSource in JDK proxies that report statement executions, execution time, rows
+ * read and how long connections are held to the {@link QueryStats} of the calling thread. When
+ * no stats are being collected the proxies only add a thread-local lookup per call.
+ */
+public final class InstrumentedDataSource {
+    
+    private InstrumentedDataSource() {}
+    
+    public static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (!(result instanceof Connection connection)) {
+                return result;
+            }
+            QueryStats stats = QueryStats.current();
+            if (stats != null) {
+                stats.connectionOpened(System.nanoTime());
+            }
+            return wrapConnection(connection, stats);
+        });
+    }
+    
+    // The connection is charged to the stats of the thread that opened it, wherever it is closed
+    private static Connection wrapConnection(Connection connection, QueryStats stats) {
+        boolean[] closed = {false};
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            if (method.getName().equals("close") && stats != null && !closed[0]) {
+                closed[0] = true;
+                stats.connectionClosed(System.nanoTime());
+            }
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrapStatement(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrapStatement(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+    
+    private static <S extends Statement> S wrapStatement(Class<S> type, S statement) {
+        return proxy(type, statement, (target, method, args) -> {
+            QueryStats stats = QueryStats.current();
+            String name = method.getName();
+            if (stats == null || !(name.startsWith("execute") || name.equals("getResultSet"))) {
+                return invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            Object result = invoke(target, method, args);
+            long elapsed = System.nanoTime() - start;
+            if (name.equals("getResultSet")) {
+                stats.resultRead(elapsed);
+            } else {
+                stats.statementExecuted(elapsed);
+            }
+            return result instanceof ResultSet resultSet ? wrapResultSet(resultSet) : result;
+        });
+    }
+    
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+            QueryStats stats = QueryStats.current();
+            if (stats == null || !method.getName().equals("next")) {
+                return invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            Object result = invoke(target, method, args);
+            long elapsed = System.nanoTime() - start;
+            if (Boolean.TRUE.equals(result)) {
+                stats.rowRead(elapsed);
+            } else {
+                stats.resultRead(elapsed);
+            }
+            return result;
+        });
+    }
+    
+    private interface Handler<T> {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+    
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocationHandler));
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
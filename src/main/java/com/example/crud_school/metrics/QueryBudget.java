@@ -0,0 +1,20 @@
+package com.example.crud_school.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of JDBC statements a request to the annotated handler may execute. Requests
+ * over budget are logged, counted in {@code db.request.budget.exceeded} and recorded in
+ * {@link QueryBudgetViolations}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    
+    int statements();
+}
@@ -0,0 +1,35 @@
+package com.example.crud_school.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The most recent requests that went over their {@link QueryBudget}, so tests and diagnostics
+ * can check for them.
+ */
+@Component
+public class QueryBudgetViolations {
+    
+    private static final int MAX_RETAINED = 100;
+    
+    public record Violation(String method, String uri, int budget, int statements) {}
+    
+    private final List<Violation> violations = new CopyOnWriteArrayList<>();
+    
+    void record(Violation violation) {
+        violations.add(violation);
+        if (violations.size() > MAX_RETAINED) {
+            violations.remove(0);
+        }
+    }
+    
+    public List<Violation> getViolations() {
+        return List.copyOf(violations);
+    }
+    
+    public void clear() {
+        violations.clear();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.crud_school.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects {@link QueryStats} for each handled request and records them per endpoint as
+ * {@code db.request.statements}, {@code db.request.time}, {@code db.request.rows} and
+ * {@code db.request.connection.time}. A connection still open when the request completes is
+ * counted up to that point. Handlers
+ * annotated with {@link QueryBudget} are checked against their budget. Work done after an async
+ * handler returns (such as a streamed body) runs on another thread and is not counted.
+ */
+public class QueryMetricsInterceptor implements HandlerInterceptor {
+    
+    private static final Logger log = LoggerFactory.getLogger(QueryMetricsInterceptor.class);
+    
+    private final MeterRegistry registry;
+    private final QueryBudgetViolations violations;
+    
+    public QueryMetricsInterceptor(MeterRegistry registry, QueryBudgetViolations violations) {
+        this.registry = registry;
+        this.violations = violations;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryStats.start();
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryStats stats = QueryStats.stop();
+        if (stats == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        
+        DistributionSummary.builder("db.request.statements").description("JDBC statements executed per request")
+                .tags(tags).register(registry).record(stats.getStatements());
+        DistributionSummary.builder("db.request.rows").description("Result set rows read per request")
+                .tags(tags).register(registry).record(stats.getRows());
+        Timer.builder("db.request.time").description("Time spent executing statements and reading results per request")
+                .tags(tags).register(registry).record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("db.request.connection.time").description("Time a JDBC connection was held per request")
+                .tags(tags).register(registry).record(stats.getConnectionNanos(), TimeUnit.NANOSECONDS);
+        
+        QueryBudget budget = handler instanceof HandlerMethod method ? method.getMethodAnnotation(QueryBudget.class) : null;
+        if (budget != null && stats.getStatements() > budget.statements()) {
+            log.warn("{} {} executed {} statements, over its budget of {}",
+                    request.getMethod(), uri, stats.getStatements(), budget.statements());
+            registry.counter("db.request.budget.exceeded", tags).increment();
+            violations.record(new QueryBudgetViolations.Violation(request.getMethod(), uri,
+                    budget.statements(), stats.getStatements()));
+        }
+    }
+}
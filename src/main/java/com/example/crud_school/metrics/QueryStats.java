@@ -0,0 +1,101 @@
+package com.example.crud_school.metrics;
+
+/**
+ * JDBC work done on the current thread since {@link #start()}: statements executed, time spent
+ * executing them and reading their results, rows read, and how long connections were held.
+ */
+public final class QueryStats {
+    
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+    
+    private int statements;
+    private long nanos;
+    private long rows;
+    private long connectionNanos;
+    private int openConnections;
+    private long heldSince;
+    
+    private QueryStats() {}
+    
+    /**
+     * Starts collecting on this thread, replacing anything collected before.
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+    
+    /**
+     * Stops collecting on this thread and returns what was collected, or null if nothing was started.
+     */
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+    
+    /**
+     * The stats being collected on this thread, or null if nothing was started.
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Adds work collected on another thread on behalf of this one. Call it from the owning
+     * thread once the other thread has stopped collecting.
+     */
+    public void add(QueryStats other) {
+        statements += other.statements;
+        nanos += other.nanos;
+        rows += other.rows;
+        connectionNanos += other.getConnectionNanos();
+    }
+    
+    void statementExecuted(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+    
+    void rowRead(long elapsedNanos) {
+        rows++;
+        nanos += elapsedNanos;
+    }
+    
+    void resultRead(long elapsedNanos) {
+        nanos += elapsedNanos;
+    }
+    
+    // Nested connections (a second one opened while the first is held) are counted once
+    void connectionOpened(long now) {
+        if (openConnections++ == 0) {
+            heldSince = now;
+        }
+    }
+    
+    void connectionClosed(long now) {
+        if (openConnections > 0 && --openConnections == 0) {
+            connectionNanos += now - heldSince;
+        }
+    }
+    
+    public int getStatements() {
+        return statements;
+    }
+    
+    public long getNanos() {
+        return nanos;
+    }
+    
+    public long getRows() {
+        return rows;
+    }
+    
+    /**
+     * Time at least one connection was held, including a connection that is still open.
+     */
+    public long getConnectionNanos() {
+        return openConnections > 0 ? connectionNanos + System.nanoTime() - heldSince : connectionNanos;
+    }
+}
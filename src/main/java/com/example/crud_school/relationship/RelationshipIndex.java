@@ -0,0 +1,318 @@
+package com.example.crud_school.relationship;
+
+import com.example.crud_school.entity.Class;
+import com.example.crud_school.entity.Enrollment;
+import com.example.crud_school.entity.School;
+import com.example.crud_school.entity.Student;
+import com.example.crud_school.entity.Subject;
+import com.example.crud_school.entity.Teacher;
+import com.example.crud_school.event.EntityChangedEvent;
+import com.example.crud_school.util.IdMultimap;
+import com.example.crud_school.util.LongIntHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory adjacency lists for the school -> class -> student, teacher -> subject and
+ * student -> enrollment -> subject relationships, held as primitive IDs. Membership and
+ * fan-out lookups neither box IDs nor load entities. Built from the database once the
+ * application is ready and kept current from committed entity changes.
+ * <p>
+ * IDs must fit in an {@code int}; results are ascending and hold each ID once.
+ */
+@Component
+public class RelationshipIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(RelationshipIndex.class);
+    
+    private static final int NONE = 0;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ManyToOne classSchool = new ManyToOne();
+    private final ManyToOne studentClass = new ManyToOne();
+    private final ManyToOne subjectTeacher = new ManyToOne();
+    private final ManyToOne enrollmentStudent = new ManyToOne();
+    private final ManyToOne enrollmentSubject = new ManyToOne();
+    // Counted once per enrollment, so a subject stays listed while any enrollment in it remains
+    private final IdMultimap studentSubjects = new IdMultimap();
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean ready;
+    
+    public RelationshipIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(1000);
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public long[] getClassesOfSchool(long schoolId) {
+        return read(() -> classSchool.children.get(schoolId));
+    }
+    
+    public long[] getStudentsOfClass(long classId) {
+        return read(() -> studentClass.children.get(classId));
+    }
+    
+    /**
+     * Students in any class of the school; students without a class are not reached.
+     */
+    public long[] getStudentsOfSchool(long schoolId) {
+        return read(() -> {
+            long[] classIds = classSchool.children.get(schoolId);
+            int total = 0;
+            for (long classId : classIds) {
+                total += studentClass.children.size(classId);
+            }
+            long[] students = new long[total];
+            int filled = 0;
+            for (long classId : classIds) {
+                long[] members = studentClass.children.get(classId);
+                System.arraycopy(members, 0, students, filled, members.length);
+                filled += members.length;
+            }
+            // A student is in one class, so the lists are disjoint and only need merging
+            Arrays.sort(students);
+            return students;
+        });
+    }
+    
+    public long[] getSubjectsOfTeacher(long teacherId) {
+        return read(() -> subjectTeacher.children.get(teacherId));
+    }
+    
+    public long[] getSubjectsOfStudent(long studentId) {
+        return read(() -> studentSubjects.get(studentId));
+    }
+    
+    public long[] getEnrollmentsOfStudent(long studentId) {
+        return read(() -> enrollmentStudent.children.get(studentId));
+    }
+    
+    public long[] getEnrollmentsOfSubject(long subjectId) {
+        return read(() -> enrollmentSubject.children.get(subjectId));
+    }
+    
+    public boolean isEnrolled(long studentId, long subjectId) {
+        lock.readLock().lock();
+        try {
+            return studentSubjects.contains(studentId, subjectId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        write(() -> {
+            for (ManyToOne relation : relations()) {
+                relation.startLoad();
+            }
+            studentSubjects.clear();
+        });
+        
+        load(classSchool, "SELECT id, school_id FROM classes");
+        load(studentClass, "SELECT id, class_id FROM students");
+        load(subjectTeacher, "SELECT id, teacher_id FROM subjects");
+        jdbcTemplate.query("SELECT id, student_id, subject_id FROM enrollments", (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+            long studentId = rs.getLong("student_id");
+            long subjectId = rs.getLong("subject_id");
+            write(() -> {
+                if (!enrollmentStudent.changedDuringLoad(id)) {
+                    putEnrollment(id, studentId, subjectId);
+                }
+            });
+        });
+        
+        write(() -> {
+            for (ManyToOne relation : relations()) {
+                relation.finishLoad();
+            }
+        });
+        ready = true;
+        log.info("Relationship index built in {} ms ({} schools with classes, {} classes with students, {} teachers with subjects, {} students with enrollments)",
+                System.currentTimeMillis() - start, classSchool.children.keyCount(), studentClass.children.keyCount(),
+                subjectTeacher.children.keyCount(), enrollmentStudent.children.keyCount());
+    }
+    
+    /**
+     * Deleting a school or teacher cascades through JPA, so its classes and subjects arrive
+     * here as deletes of their own.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        boolean deleted = event.getType() == EntityChangedEvent.Type.DELETED;
+        Object entity = event.getEntity();
+        write(() -> {
+            if (entity instanceof Class clazz) {
+                classSchool.put(clazz.getId(), deleted ? NONE : idOf(clazz.getSchool()));
+            } else if (entity instanceof Student student) {
+                studentClass.put(student.getId(), deleted ? NONE : idOf(student.getClazz()));
+            } else if (entity instanceof Subject subject) {
+                subjectTeacher.put(subject.getId(), deleted ? NONE : idOf(subject.getTeacher()));
+            } else if (entity instanceof Enrollment enrollment) {
+                enrollmentStudent.markChanged(enrollment.getId());
+                if (deleted) {
+                    removeEnrollment(enrollment.getId());
+                } else {
+                    putEnrollment(enrollment.getId(), idOf(enrollment.getStudent()), idOf(enrollment.getSubject()));
+                }
+            }
+        });
+    }
+    
+    private void load(ManyToOne relation, String sql) {
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            long child = rs.getLong(1);
+            long parent = rs.getLong(2);
+            write(() -> relation.load(child, parent));
+        });
+    }
+    
+    private void putEnrollment(long id, long studentId, long subjectId) {
+        removeEnrollment(id);
+        enrollmentStudent.set(id, studentId);
+        enrollmentSubject.set(id, subjectId);
+        studentSubjects.add(studentId, subjectId);
+    }
+    
+    private void removeEnrollment(long id) {
+        int previousStudent = enrollmentStudent.set(id, NONE);
+        int previousSubject = enrollmentSubject.set(id, NONE);
+        if (previousStudent != NONE) {
+            studentSubjects.remove(previousStudent, previousSubject);
+        }
+    }
+    
+    private ManyToOne[] relations() {
+        return new ManyToOne[] {classSchool, studentClass, subjectTeacher, enrollmentStudent, enrollmentSubject};
+    }
+    
+    // Reading the id of a lazy association does not initialize the proxy
+    private static long idOf(School school) {
+        return school != null ? school.getId() : NONE;
+    }
+    
+    private static long idOf(Class clazz) {
+        return clazz != null ? clazz.getId() : NONE;
+    }
+    
+    private static long idOf(Teacher teacher) {
+        return teacher != null ? teacher.getId() : NONE;
+    }
+    
+    private static long idOf(Student student) {
+        return student != null ? student.getId() : NONE;
+    }
+    
+    private static long idOf(Subject subject) {
+        return subject != null ? subject.getId() : NONE;
+    }
+    
+    private long[] read(Supplier<long[]> lookup) {
+        lock.readLock().lock();
+        try {
+            return lookup.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * One many-to-one association: child -> parent in an array indexed by child ID (NONE for
+     * no parent), and parent -> children in an {@link IdMultimap}. Storing the parent makes
+     * every change an overwrite, so replaying a change is harmless.
+     */
+    private static final class ManyToOne {
+        
+        private final IdMultimap children = new IdMultimap();
+        // While loading, children written by put; the load must not overwrite them with older rows
+        private final LongIntHashMap changedDuringLoad = new LongIntHashMap();
+        private int[] parents = new int[1024];
+        private boolean loading;
+        
+        /**
+         * Points {@code child} at {@code parent} (NONE to detach it) and returns the previous parent.
+         */
+        int set(long child, long parent) {
+            int id = toInt(child);
+            if (id >= parents.length) {
+                parents = Arrays.copyOf(parents, Math.max(id + 1, parents.length + (parents.length >> 1)));
+            }
+            int previous = parents[id];
+            if (previous != parent) {
+                if (previous != NONE) {
+                    children.remove(previous, id);
+                }
+                if (parent != NONE) {
+                    children.add(parent, id);
+                }
+                parents[id] = toInt(parent);
+            }
+            return previous;
+        }
+        
+        void put(long child, long parent) {
+            markChanged(child);
+            set(child, parent);
+        }
+        
+        void load(long child, long parent) {
+            if (!changedDuringLoad(child)) {
+                set(child, parent);
+            }
+        }
+        
+        void markChanged(long child) {
+            if (loading) {
+                changedDuringLoad.put(child, 1);
+            }
+        }
+        
+        boolean changedDuringLoad(long child) {
+            return changedDuringLoad.containsKey(child);
+        }
+        
+        void startLoad() {
+            Arrays.fill(parents, NONE);
+            children.clear();
+            changedDuringLoad.clear();
+            loading = true;
+        }
+        
+        void finishLoad() {
+            loading = false;
+            changedDuringLoad.clear();
+        }
+        
+        private static int toInt(long id) {
+            if (id < 0 || id > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("ID out of range for the relationship index: " + id);
+            }
+            return (int) id;
+        }
+    }
+}
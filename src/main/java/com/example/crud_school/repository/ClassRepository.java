@@ -1,8 +1,13 @@
 package com.example.crud_school.repository;
 
+import com.example.crud_school.dto.ClassDto;
 import com.example.crud_school.entity.Class;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,23 +17,37 @@ import java.util.Optional;
 @Repository
 public interface ClassRepository extends JpaRepository<Class, Long> {
     
+    // Only the ClassDto columns; reading the id of an association uses the foreign key column without a join
+    String DTO_SELECT = "SELECT new com.example.crud_school.dto.ClassDto(c.id, c.name, c.code, c.description, " +
+            "c.gradeLevel, c.academicYear, c.roomNumber, c.school.id, c.teacher.id) FROM Class c";
+    
     // Basic queries
-    List<Class> findBySchoolId(Long schoolId);
+    @EntityGraph(Class.WITH_TEACHER)
+    @Query("SELECT c FROM Class c WHERE c.school.id = :schoolId")
+    List<Class> findBySchoolId(@Param("schoolId") Long schoolId);
     
-    List<Class> findByTeacherId(Long teacherId);
+    @EntityGraph(Class.WITH_TEACHER)
+    @Query("SELECT c FROM Class c WHERE c.teacher.id = :teacherId")
+    List<Class> findByTeacherId(@Param("teacherId") Long teacherId);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Class> findByCode(String code);
     
+    @EntityGraph(Class.WITH_TEACHER)
     List<Class> findByNameContainingIgnoreCase(String name);
     
+    @EntityGraph(Class.WITH_TEACHER)
     List<Class> findByGradeLevel(Integer gradeLevel);
     
+    @EntityGraph(Class.WITH_TEACHER)
     List<Class> findByAcademicYear(Integer academicYear);
     
     // Custom queries
+    @EntityGraph(Class.WITH_TEACHER)
     @Query("SELECT c FROM Class c WHERE c.school.id = :schoolId AND c.gradeLevel = :gradeLevel")
     List<Class> findBySchoolIdAndGradeLevel(@Param("schoolId") Long schoolId, @Param("gradeLevel") Integer gradeLevel);
     
+    @EntityGraph(Class.WITH_TEACHER)
     @Query("SELECT c FROM Class c WHERE c.school.id = :schoolId AND c.academicYear = :academicYear")
     List<Class> findBySchoolIdAndAcademicYear(@Param("schoolId") Long schoolId, @Param("academicYear") Integer academicYear);
     
@@ -37,4 +56,7 @@ public interface ClassRepository extends JpaRepository<Class, Long> {
     
     @Query("SELECT COUNT(c) FROM Class c WHERE c.teacher.id = :teacherId")
     long countByTeacherId(@Param("teacherId") Long teacherId);
+    
+    @Query(DTO_SELECT + " WHERE c.school.id = :schoolId ORDER BY c.id")
+    List<ClassDto> findDtosBySchoolId(@Param("schoolId") Long schoolId);
 } 
\ No newline at end of file
@@ -1,33 +1,49 @@
 package com.example.crud_school.repository;
 
 import com.example.crud_school.entity.Enrollment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     
-    List<Enrollment> findByStudentId(Long studentId);
+    // Explicit queries compare the foreign key column; the derived form filters on a left-joined
+    // alias, which keeps the database from using the student_id/subject_id/class_id indexes
+    @EntityGraph(Enrollment.WITH_STUDENT_SUBJECT_CLASS)
+    @Query("SELECT e FROM Enrollment e WHERE e.student.id = :studentId")
+    List<Enrollment> findByStudentId(@Param("studentId") Long studentId);
     
-    List<Enrollment> findBySubjectId(Long subjectId);
+    @EntityGraph(Enrollment.WITH_STUDENT_SUBJECT_CLASS)
+    @Query("SELECT e FROM Enrollment e WHERE e.subject.id = :subjectId")
+    List<Enrollment> findBySubjectId(@Param("subjectId") Long subjectId);
     
-    List<Enrollment> findByClazzId(Long classId);
-    
-    List<Enrollment> findByStatus(String status);
+    @EntityGraph(Enrollment.WITH_STUDENT_SUBJECT_CLASS)
+    @Query("SELECT e FROM Enrollment e WHERE e.clazz.id = :classId")
+    List<Enrollment> findByClazzId(@Param("classId") Long classId);
     
+    @EntityGraph(Enrollment.WITH_STUDENT_SUBJECT_CLASS)
     List<Enrollment> findByEnrollmentDateBetween(LocalDate startDate, LocalDate endDate);
     
+    @EntityGraph(Enrollment.WITH_STUDENT_SUBJECT_CLASS)
     @Query("SELECT e FROM Enrollment e WHERE e.student.id = :studentId AND e.subject.id = :subjectId")
     List<Enrollment> findByStudentIdAndSubjectId(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId);
     
+    @EntityGraph(Enrollment.WITH_STUDENT_SUBJECT_CLASS)
     @Query("SELECT e FROM Enrollment e WHERE e.student.id = :studentId AND e.status = :status")
     List<Enrollment> findByStudentIdAndStatus(@Param("studentId") Long studentId, @Param("status") String status);
     
+    @EntityGraph(Enrollment.WITH_STUDENT_SUBJECT_CLASS)
     @Query("SELECT e FROM Enrollment e WHERE e.subject.id = :subjectId AND e.status = :status")
     List<Enrollment> findBySubjectIdAndStatus(@Param("subjectId") Long subjectId, @Param("status") String status);
     
@@ -39,4 +55,17 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.status = :status")
     long countByStatus(@Param("status") String status);
+    
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT e FROM Enrollment e ORDER BY e.id")
+    Stream<Enrollment> streamAll();
+    
+    // Keyset pagination: enrollments with a status one page at a time, seeking past the last seen id
+    @EntityGraph(Enrollment.WITH_STUDENT_SUBJECT_CLASS)
+    List<Enrollment> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long afterId, Limit limit);
 } 
\ No newline at end of file
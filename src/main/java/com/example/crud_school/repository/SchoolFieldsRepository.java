@@ -0,0 +1,28 @@
+package com.example.crud_school.repository;
+
+import com.example.crud_school.dto.SchoolField;
+import com.example.crud_school.dto.SchoolSummary;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Sparse counterparts of the SchoolRepository summary queries. Each reads only the selected
+ * fields plus the school's version and update time, and leaves the other summary components
+ * null. The statistics row is only joined when a count is selected.
+ */
+public interface SchoolFieldsRepository {
+    
+    Optional<SchoolSummary> findFieldsById(Set<SchoolField> fields, Long id);
+    
+    List<SchoolSummary> findFieldsByNameContaining(Set<SchoolField> fields, String name);
+    
+    List<SchoolSummary> findFieldsByCity(Set<SchoolField> fields, String city);
+    
+    List<SchoolSummary> findFieldsByIds(Set<SchoolField> fields, Collection<Long> ids);
+    
+    // Keyset pagination, as in findSummariesAfter
+    List<SchoolSummary> findFieldsAfter(Set<SchoolField> fields, Long afterId, int limit);
+}
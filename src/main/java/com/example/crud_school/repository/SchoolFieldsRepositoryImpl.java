@@ -0,0 +1,127 @@
+package com.example.crud_school.repository;
+
+import com.example.crud_school.dto.SchoolField;
+import com.example.crud_school.dto.SchoolSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Builds one JPQL query per field selection. Hibernate caches the interpretation of each
+ * query string, and there are only as many strings as there are selections.
+ */
+class SchoolFieldsRepositoryImpl implements SchoolFieldsRepository {
+    
+    private final EntityManager entityManager;
+    
+    SchoolFieldsRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+    
+    @Override
+    public Optional<SchoolSummary> findFieldsById(Set<SchoolField> fields, Long id) {
+        return read(fields, query(fields, "WHERE s.id = :id").setParameter("id", id)).stream().findFirst();
+    }
+    
+    @Override
+    public List<SchoolSummary> findFieldsByNameContaining(Set<SchoolField> fields, String name) {
+        return read(fields, query(fields, "WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY s.id")
+                .setParameter("name", name));
+    }
+    
+    @Override
+    public List<SchoolSummary> findFieldsByCity(Set<SchoolField> fields, String city) {
+        return read(fields, query(fields, "WHERE LOWER(s.address) LIKE LOWER(CONCAT('%', :city, '%')) ORDER BY s.id")
+                .setParameter("city", city));
+    }
+    
+    @Override
+    public List<SchoolSummary> findFieldsByIds(Set<SchoolField> fields, Collection<Long> ids) {
+        return read(fields, query(fields, "WHERE s.id IN :ids ORDER BY s.id").setParameter("ids", ids));
+    }
+    
+    @Override
+    public List<SchoolSummary> findFieldsAfter(Set<SchoolField> fields, Long afterId, int limit) {
+        return read(fields, query(fields, "WHERE s.id > :afterId ORDER BY s.id")
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit));
+    }
+    
+    // The selected fields in enum order, then the validators SchoolRevision is built from
+    private TypedQuery<Object[]> query(Set<SchoolField> fields, String where) {
+        boolean counts = SchoolField.anyCount(fields);
+        StringJoiner select = new StringJoiner(", ", "SELECT ", "");
+        for (SchoolField field : fields) {
+            select.add(column(field));
+        }
+        select.add("s.version").add("s.updatedAt");
+        if (counts) {
+            select.add("COALESCE(st.version, 0L)").add("st.updatedAt");
+        }
+        String from = counts
+                ? " FROM School s LEFT JOIN SchoolStatistics st ON st.schoolId = s.id "
+                : " FROM School s ";
+        return entityManager.createQuery(select + from + where, Object[].class);
+    }
+    
+    private static String column(SchoolField field) {
+        return switch (field) {
+            case ID -> "s.id";
+            case NAME -> "s.name";
+            case DESCRIPTION -> "s.description";
+            case ADDRESS -> "s.address";
+            case PHONE -> "s.phone";
+            case EMAIL -> "s.email";
+            case STUDENT_COUNT -> "COALESCE(st.studentCount, 0L)";
+            case TEACHER_COUNT -> "COALESCE(st.teacherCount, 0L)";
+            case SUBJECT_COUNT -> "COALESCE(st.subjectCount, 0L)";
+            case CLASS_COUNT -> "COALESCE(st.classCount, 0L)";
+            case VERSION -> "s.version";
+        };
+    }
+    
+    private static List<SchoolSummary> read(Set<SchoolField> fields, TypedQuery<Object[]> query) {
+        List<SchoolSummary> summaries = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            summaries.add(summary(fields, row));
+        }
+        return summaries;
+    }
+    
+    private static SchoolSummary summary(Set<SchoolField> fields, Object[] row) {
+        Map<SchoolField, Object> values = new EnumMap<>(SchoolField.class);
+        int column = 0;
+        for (SchoolField field : fields) {
+            values.put(field, row[column++]);
+        }
+        Long version = (Long) row[column++];
+        LocalDateTime updatedAt = (LocalDateTime) row[column++];
+        // Without the statistics row the revision carries statistics version 0, so count changes leave it alone
+        Long statisticsVersion = column < row.length ? (Long) row[column++] : 0L;
+        LocalDateTime statisticsUpdatedAt = column < row.length ? (LocalDateTime) row[column] : null;
+        return new SchoolSummary(
+                (Long) values.get(SchoolField.ID),
+                (String) values.get(SchoolField.NAME),
+                (String) values.get(SchoolField.DESCRIPTION),
+                (String) values.get(SchoolField.ADDRESS),
+                (String) values.get(SchoolField.PHONE),
+                (String) values.get(SchoolField.EMAIL),
+                (Long) values.get(SchoolField.STUDENT_COUNT),
+                (Long) values.get(SchoolField.TEACHER_COUNT),
+                (Long) values.get(SchoolField.SUBJECT_COUNT),
+                (Long) values.get(SchoolField.CLASS_COUNT),
+                version,
+                updatedAt,
+                statisticsVersion,
+                statisticsUpdatedAt);
+    }
+}
@@ -1,26 +1,77 @@
 package com.example.crud_school.repository;
 
+import com.example.crud_school.dto.SchoolRevision;
+import com.example.crud_school.dto.SchoolSummary;
 import com.example.crud_school.entity.School;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SchoolRepository extends JpaRepository<School, Long> {
+public interface SchoolRepository extends JpaRepository<School, Long>, SchoolFieldsRepository {
     
-    Optional<School> findByName(String name);
+    // Schools with their student/teacher/subject/class counts, joined from the maintained statistics row
+    String SUMMARY_SELECT = "SELECT new com.example.crud_school.dto.SchoolSummary(s.id, s.name, s.description, " +
+            "s.address, s.phone, s.email, " +
+            "COALESCE(st.studentCount, 0L), COALESCE(st.teacherCount, 0L), " +
+            "COALESCE(st.subjectCount, 0L), COALESCE(st.classCount, 0L), " +
+            "s.version, s.updatedAt, COALESCE(st.version, 0L), st.updatedAt) " +
+            "FROM School s LEFT JOIN SchoolStatistics st ON st.schoolId = s.id";
+    
+    // Only the validators of the same rows, for answering conditional requests
+    String REVISION_SELECT = "SELECT new com.example.crud_school.dto.SchoolRevision(s.id, s.version, s.updatedAt, " +
+            "COALESCE(st.version, 0L), st.updatedAt) " +
+            "FROM School s LEFT JOIN SchoolStatistics st ON st.schoolId = s.id";
     
     List<School> findByNameContainingIgnoreCase(String name);
     
-    @Query("SELECT s FROM School s WHERE s.address LIKE %:city%")
+    @Query("SELECT s FROM School s WHERE LOWER(s.address) LIKE LOWER(CONCAT('%', :city, '%'))")
     List<School> findByCity(@Param("city") String city);
     
     boolean existsByName(String name);
     
     @Query("SELECT COUNT(s) FROM School s")
     long countSchools();
+    
+    // Summary projections
+    @Query(SUMMARY_SELECT + " WHERE s.id = :id")
+    Optional<SchoolSummary> findSummaryById(@Param("id") Long id);
+    
+    @Query(SUMMARY_SELECT + " WHERE s.name = :name")
+    Optional<SchoolSummary> findSummaryByName(@Param("name") String name);
+    
+    @Query(SUMMARY_SELECT + " WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY s.id")
+    List<SchoolSummary> findSummariesByNameContaining(@Param("name") String name);
+    
+    @Query(SUMMARY_SELECT + " WHERE LOWER(s.address) LIKE LOWER(CONCAT('%', :city, '%')) ORDER BY s.id")
+    List<SchoolSummary> findSummariesByCity(@Param("city") String city);
+    
+    @Query(SUMMARY_SELECT + " WHERE s.id IN :ids ORDER BY s.id")
+    List<SchoolSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+    
+    // Keyset pagination: seek past the last seen id instead of using OFFSET
+    @Query(SUMMARY_SELECT + " WHERE s.id > :afterId ORDER BY s.id")
+    List<SchoolSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    // Revision projections
+    @Query(REVISION_SELECT + " WHERE s.id = :id")
+    Optional<SchoolRevision> findRevisionById(@Param("id") Long id);
+    
+    @Query(REVISION_SELECT + " WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY s.id")
+    List<SchoolRevision> findRevisionsByNameContaining(@Param("name") String name);
+    
+    @Query(REVISION_SELECT + " WHERE LOWER(s.address) LIKE LOWER(CONCAT('%', :city, '%')) ORDER BY s.id")
+    List<SchoolRevision> findRevisionsByCity(@Param("city") String city);
+    
+    @Query(REVISION_SELECT + " WHERE s.id IN :ids ORDER BY s.id")
+    List<SchoolRevision> findRevisionsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query(REVISION_SELECT + " WHERE s.id > :afterId ORDER BY s.id")
+    List<SchoolRevision> findRevisionsAfter(@Param("afterId") Long afterId, Limit limit);
 } 
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.crud_school.repository;
+
+import com.example.crud_school.entity.SchoolStatistics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchoolStatisticsRepository extends JpaRepository<SchoolStatistics, Long> {
+}
@@ -1,29 +1,40 @@
 package com.example.crud_school.repository;
 
+import com.example.crud_school.dto.StudentDto;
 import com.example.crud_school.entity.Student;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
     
-    List<Student> findBySchoolId(Long schoolId);
+    // Only the StudentDto columns; reading the id of an association uses the foreign key column without a join
+    String DTO_SELECT = "SELECT new com.example.crud_school.dto.StudentDto(s.id, s.firstName, s.lastName, " +
+            "s.dateOfBirth, s.phone, s.email, s.address, s.school.id, s.clazz.id) FROM Student s";
     
-    List<Student> findByClazzId(Long classId);
+    @EntityGraph(Student.WITH_CLASS)
+    @Query("SELECT s FROM Student s WHERE s.clazz.id = :classId")
+    List<Student> findByClazzId(@Param("classId") Long classId);
     
     Optional<Student> findByEmail(String email);
     
+    @EntityGraph(Student.WITH_CLASS)
     List<Student> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName);
     
+    @EntityGraph(Student.WITH_CLASS)
     @Query("SELECT s FROM Student s WHERE s.dateOfBirth BETWEEN :startDate AND :endDate")
     List<Student> findByDateOfBirthBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
+    @EntityGraph(Student.WITH_CLASS)
     @Query("SELECT s FROM Student s WHERE s.school.id = :schoolId AND s.clazz.id = :classId")
     List<Student> findBySchoolIdAndClassId(@Param("schoolId") Long schoolId, @Param("classId") Long classId);
     
@@ -32,4 +43,12 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     
     @Query("SELECT COUNT(s) FROM Student s WHERE s.clazz.id = :classId")
     long countByClassId(@Param("classId") Long classId);
+    
+    // Keyset pagination: a school's students one page at a time, seeking past the last seen id
+    @EntityGraph(Student.WITH_CLASS)
+    @Query("SELECT s FROM Student s WHERE s.school.id = :schoolId AND s.id > :afterId ORDER BY s.id")
+    List<Student> findBySchoolIdAndIdGreaterThanOrderByIdAsc(@Param("schoolId") Long schoolId, @Param("afterId") Long afterId, Limit limit);
+    
+    @Query(DTO_SELECT + " WHERE s.id IN :ids ORDER BY s.id")
+    List<StudentDto> findDtosByIds(@Param("ids") Collection<Long> ids);
 } 
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.example.crud_school.repository;
 
+import com.example.crud_school.dto.SubjectDto;
 import com.example.crud_school.entity.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,16 +17,29 @@ import java.util.Optional;
 @Repository
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
     
-    List<Subject> findBySchoolId(Long schoolId);
+    // Only the SubjectDto columns; reading the id of an association uses the foreign key column without a join
+    String DTO_SELECT = "SELECT new com.example.crud_school.dto.SubjectDto(s.id, s.name, s.description, s.code, " +
+            "s.credits, s.school.id, s.teacher.id) FROM Subject s";
     
-    List<Subject> findByTeacherId(Long teacherId);
+    @EntityGraph(Subject.WITH_TEACHER)
+    @Query("SELECT s FROM Subject s WHERE s.school.id = :schoolId")
+    List<Subject> findBySchoolId(@Param("schoolId") Long schoolId);
     
+    @EntityGraph(Subject.WITH_TEACHER)
+    @Query("SELECT s FROM Subject s WHERE s.teacher.id = :teacherId")
+    List<Subject> findByTeacherId(@Param("teacherId") Long teacherId);
+    
+    // Query cache entries are invalidated by Hibernate whenever the subjects table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Subject> findByCode(String code);
     
+    @EntityGraph(Subject.WITH_TEACHER)
     List<Subject> findByNameContainingIgnoreCase(String name);
     
+    @EntityGraph(Subject.WITH_TEACHER)
     List<Subject> findByCredits(Integer credits);
     
+    @EntityGraph(Subject.WITH_TEACHER)
     @Query("SELECT s FROM Subject s WHERE s.school.id = :schoolId AND s.teacher.id = :teacherId")
     List<Subject> findBySchoolIdAndTeacherId(@Param("schoolId") Long schoolId, @Param("teacherId") Long teacherId);
     
@@ -30,4 +48,7 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
     
     @Query("SELECT COUNT(s) FROM Subject s WHERE s.teacher.id = :teacherId")
     long countByTeacherId(@Param("teacherId") Long teacherId);
+    
+    @Query(DTO_SELECT + " WHERE s.school.id = :schoolId ORDER BY s.id")
+    List<SubjectDto> findDtosBySchoolId(@Param("schoolId") Long schoolId);
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.crud_school.repository;
 
+import com.example.crud_school.dto.TeacherDto;
 import com.example.crud_school.entity.Teacher;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -7,13 +8,19 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     
-    List<Teacher> findBySchoolId(Long schoolId);
+    // Only the TeacherDto columns; reading the id of an association uses the foreign key column without a join
+    String DTO_SELECT = "SELECT new com.example.crud_school.dto.TeacherDto(t.id, t.firstName, t.lastName, " +
+            "t.phone, t.email, t.address, t.qualification, t.employeeId, t.hireDate, t.school.id) FROM Teacher t";
+    
+    @Query("SELECT t FROM Teacher t WHERE t.school.id = :schoolId")
+    List<Teacher> findBySchoolId(@Param("schoolId") Long schoolId);
     
     Optional<Teacher> findByEmail(String email);
     
@@ -31,4 +38,10 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     
     @Query("SELECT t FROM Teacher t WHERE t.school.id = :schoolId AND t.qualification = :qualification")
     List<Teacher> findBySchoolIdAndQualification(@Param("schoolId") Long schoolId, @Param("qualification") String qualification);
+    
+    @Query(DTO_SELECT + " WHERE t.school.id = :schoolId ORDER BY t.id")
+    List<TeacherDto> findDtosBySchoolId(@Param("schoolId") Long schoolId);
+    
+    @Query(DTO_SELECT + " WHERE t.id IN :ids ORDER BY t.id")
+    List<TeacherDto> findDtosByIds(@Param("ids") Collection<Long> ids);
 } 
\ No newline at end of file
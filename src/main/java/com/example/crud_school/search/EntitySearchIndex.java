@@ -0,0 +1,138 @@
+package com.example.crud_school.search;
+
+import com.example.crud_school.entity.School;
+import com.example.crud_school.entity.Student;
+import com.example.crud_school.entity.Teacher;
+import com.example.crud_school.event.EntityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * In-memory substring indexes over the name, address and email of schools, students and
+ * teachers. Built from the database once the application is ready and kept current from
+ * committed entity changes.
+ */
+@Component
+public class EntitySearchIndex {
+    
+    public enum Field { NAME, ADDRESS, EMAIL }
+    
+    private static final Logger log = LoggerFactory.getLogger(EntitySearchIndex.class);
+    
+    // Separates first and last name so a query can never match across the boundary
+    private static final char NAME_SEPARATOR = '\u0001';
+    
+    private final Map<Field, NgramIndex> schools = newIndexes();
+    private final Map<Field, NgramIndex> students = newIndexes();
+    private final Map<Field, NgramIndex> teachers = newIndexes();
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean ready;
+    
+    public EntitySearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(1000);
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public long[] searchSchools(Field field, String query, int limit) {
+        return schools.get(field).search(query, limit);
+    }
+    
+    public long[] searchStudents(Field field, String query, int limit) {
+        return students.get(field).search(query, limit);
+    }
+    
+    public long[] searchTeachers(Field field, String query, int limit) {
+        return teachers.get(field).search(query, limit);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        clear(schools);
+        clear(students);
+        clear(teachers);
+        
+        jdbcTemplate.query("SELECT id, name, address, email FROM schools", (RowCallbackHandler) rs ->
+                index(schools, rs.getLong("id"), rs.getString("name"), rs.getString("address"), rs.getString("email")));
+        jdbcTemplate.query("SELECT id, first_name, last_name, address, email FROM students", (RowCallbackHandler) rs ->
+                index(students, rs.getLong("id"), fullName(rs.getString("first_name"), rs.getString("last_name")),
+                        rs.getString("address"), rs.getString("email")));
+        jdbcTemplate.query("SELECT id, first_name, last_name, address, email FROM teachers", (RowCallbackHandler) rs ->
+                index(teachers, rs.getLong("id"), fullName(rs.getString("first_name"), rs.getString("last_name")),
+                        rs.getString("address"), rs.getString("email")));
+        
+        ready = true;
+        log.info("Search index built in {} ms ({} schools, {} students, {} teachers)",
+                System.currentTimeMillis() - start, schools.get(Field.NAME).size(),
+                students.get(Field.NAME).size(), teachers.get(Field.NAME).size());
+    }
+    
+    // Runs before cache invalidation so reloaded search results already see the change
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onEntityChanged(EntityChangedEvent event) {
+        boolean deleted = event.getType() == EntityChangedEvent.Type.DELETED;
+        if (event.getEntity() instanceof School school) {
+            if (deleted) {
+                unindex(schools, school.getId());
+            } else {
+                index(schools, school.getId(), school.getName(), school.getAddress(), school.getEmail());
+            }
+        } else if (event.getEntity() instanceof Student student) {
+            if (deleted) {
+                unindex(students, student.getId());
+            } else {
+                index(students, student.getId(), fullName(student.getFirstName(), student.getLastName()),
+                        student.getAddress(), student.getEmail());
+            }
+        } else if (event.getEntity() instanceof Teacher teacher) {
+            if (deleted) {
+                unindex(teachers, teacher.getId());
+            } else {
+                index(teachers, teacher.getId(), fullName(teacher.getFirstName(), teacher.getLastName()),
+                        teacher.getAddress(), teacher.getEmail());
+            }
+        }
+    }
+    
+    private static void index(Map<Field, NgramIndex> indexes, long id, String name, String address, String email) {
+        indexes.get(Field.NAME).put(id, name);
+        indexes.get(Field.ADDRESS).put(id, address);
+        indexes.get(Field.EMAIL).put(id, email);
+    }
+    
+    private static void unindex(Map<Field, NgramIndex> indexes, long id) {
+        indexes.values().forEach(index -> index.remove(id));
+    }
+    
+    private static void clear(Map<Field, NgramIndex> indexes) {
+        indexes.values().forEach(NgramIndex::clear);
+    }
+    
+    private static String fullName(String firstName, String lastName) {
+        return firstName + NAME_SEPARATOR + lastName;
+    }
+    
+    private static Map<Field, NgramIndex> newIndexes() {
+        Map<Field, NgramIndex> indexes = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            indexes.put(field, new NgramIndex());
+        }
+        return indexes;
+    }
+}
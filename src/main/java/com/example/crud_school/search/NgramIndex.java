@@ -0,0 +1,225 @@
+package com.example.crud_school.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive substring index over one text field, backed by trigram posting lists.
+ * <p>
+ * A query of three or more characters intersects the posting lists of its trigrams and then
+ * verifies each candidate, so it never scans documents that cannot match. Shorter queries
+ * have no trigrams and fall back to a scan that stops at the result limit. Documents are
+ * addressed by their entity ID, which must fit in an {@code int}.
+ */
+public class NgramIndex {
+    
+    private static final int GRAM = 3;
+    
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private String[] documents = new String[1024];
+    private int size;
+    
+    /**
+     * Indexes {@code text} under {@code id}, replacing whatever was indexed for it before.
+     * A {@code null} text removes the document.
+     */
+    public void put(long id, String text) {
+        int docId = toDocId(id);
+        String normalized = text == null ? null : normalize(text);
+        lock.writeLock().lock();
+        try {
+            String previous = docId < documents.length ? documents[docId] : null;
+            if (previous != null) {
+                if (previous.equals(normalized)) {
+                    return;
+                }
+                for (long gram : grams(previous)) {
+                    PostingList list = postings.get(gram);
+                    if (list != null && list.remove(docId) && list.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+                documents[docId] = null;
+                size--;
+            }
+            if (normalized != null) {
+                ensureCapacity(docId);
+                documents[docId] = normalized;
+                size++;
+                for (long gram : grams(normalized)) {
+                    postings.computeIfAbsent(gram, g -> new PostingList()).add(docId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long id) {
+        put(id, null);
+    }
+    
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents = new String[1024];
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Returns up to {@code limit} IDs of documents containing {@code query}, in ascending order.
+     */
+    public long[] search(String query, int limit) {
+        String needle = normalize(query);
+        if (needle.isEmpty() || limit <= 0) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            return needle.length() < GRAM ? scan(needle, limit) : lookup(needle, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private long[] lookup(String needle, int limit) {
+        List<PostingList> lists = new ArrayList<>();
+        for (long gram : grams(needle)) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        // Drive the intersection from the rarest trigram
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        PostingList rarest = lists.get(0);
+        
+        long[] result = new long[Math.min(limit, rarest.size)];
+        int found = 0;
+        for (int i = 0; i < rarest.size && found < result.length; i++) {
+            int docId = rarest.ids[i];
+            if (containsInAll(lists, docId) && documents[docId].contains(needle)) {
+                result[found++] = docId;
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+    
+    private long[] scan(String needle, int limit) {
+        long[] result = new long[limit];
+        int found = 0;
+        for (int docId = 0; docId < documents.length && found < limit; docId++) {
+            String document = documents[docId];
+            if (document != null && document.contains(needle)) {
+                result[found++] = docId;
+            }
+        }
+        return found == limit ? result : Arrays.copyOf(result, found);
+    }
+    
+    private static boolean containsInAll(List<PostingList> lists, int docId) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(docId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+    
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+    
+    private static int toDocId(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ID out of range for the search index: " + id);
+        }
+        return (int) id;
+    }
+    
+    private void ensureCapacity(int docId) {
+        if (docId >= documents.length) {
+            documents = Arrays.copyOf(documents, Math.max(documents.length * 2, docId + 1));
+        }
+    }
+    
+    // Sorted, duplicate-free list of document IDs
+    private static final class PostingList {
+        
+        private int[] ids = new int[4];
+        private int size;
+        
+        int size() {
+            return size;
+        }
+        
+        boolean isEmpty() {
+            return size == 0;
+        }
+        
+        boolean contains(int docId) {
+            return Arrays.binarySearch(ids, 0, size, docId) >= 0;
+        }
+        
+        void add(int docId) {
+            // IDs are mostly assigned in increasing order, so appending is the common case
+            if (size == 0 || ids[size - 1] < docId) {
+                grow();
+                ids[size++] = docId;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, docId);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            grow();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = docId;
+            size++;
+        }
+        
+        boolean remove(int docId) {
+            int index = Arrays.binarySearch(ids, 0, size, docId);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+        
+        private void grow() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
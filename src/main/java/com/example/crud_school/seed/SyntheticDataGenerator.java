@@ -0,0 +1,520 @@
+package com.example.crud_school.seed;
+
+import com.example.crud_school.config.SeedProperties;
+import com.example.crud_school.repository.SchoolRepository;
+import com.example.crud_school.statistics.SchoolStatisticsReconciler;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Generates a large, skewed dataset straight through JDBC when {@code school.seed.mode=synthetic}.
+ *
+ * <p>Row counts per school are fixed up front from the seed: school sizes follow a Zipf-like
+ * distribution, and prefix sums over those sizes give every school its own id range in every
+ * table. Each school is then generated from its own random stream, so schools can be written
+ * in parallel and in any order while still producing identical rows and ids for a given seed.
+ */
+@Component
+@ConditionalOnProperty(name = "school.seed.mode", havingValue = "synthetic")
+public class SyntheticDataGenerator implements CommandLineRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    
+    // Independent random streams per school
+    private static final int STREAM_SCHOOL = 0;
+    private static final int STREAM_ROWS = 1;
+    private static final int STREAM_ENROLLMENT_COUNTS = 2;
+    
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+        "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Sandra", "Mark", "Ashley", "Steven", "Emily",
+        "Andrew", "Olivia", "Noah", "Emma", "Liam", "Ava", "Ethan", "Sophia", "Lucas", "Mia"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+        "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+        "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores"
+    };
+    private static final String[] CITIES = {
+        "Springfield", "Lincoln", "Franklin", "Greenville", "Bristol", "Clinton", "Fairview", "Salem", "Madison",
+        "Georgetown", "Arlington", "Ashland", "Dover", "Oxford", "Jackson", "Burlington", "Manchester", "Milton",
+        "Newport", "Auburn", "Dayton", "Lexington", "Milford", "Riverside", "Cleveland", "Hudson", "Kingston",
+        "Mount Vernon", "Troy", "Winchester"
+    };
+    private static final String[] STREETS = {"Main Street", "Oak Avenue", "Maple Drive", "Park Road", "Elm Street",
+        "Cedar Lane", "Pine Street", "Lake Road", "Hill Street", "Church Street"};
+    private static final String[] SCHOOL_KINDS = {"High School", "Academy", "Secondary School", "Preparatory School",
+        "Collegiate", "Community School"};
+    private static final String[] SUBJECT_NAMES = {"Mathematics", "English Literature", "Physics", "Chemistry",
+        "Biology", "History", "Geography", "Computer Science", "Economics", "Art", "Music", "Physical Education",
+        "Spanish", "French", "Philosophy", "Psychology"};
+    private static final String[] QUALIFICATIONS = {"Bachelor's in Education", "Master's in Education",
+        "Master's in Mathematics", "Master's in English", "PhD in Physics", "PhD in Chemistry", "Master's in History"};
+    private static final String[] STATUSES = {"COMPLETED", "ENROLLED", "DROPPED", "FAILED"};
+    private static final double[] STATUS_WEIGHTS = {0.55, 0.30, 0.08, 0.07};
+    
+    private static final String INSERT_SCHOOL = "INSERT INTO schools (id, name, description, address, phone, email) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TEACHER = "INSERT INTO teachers (id, first_name, last_name, date_of_birth, " +
+            "phone, email, address, qualification, employee_id, hire_date, school_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CLASS = "INSERT INTO classes (id, name, code, description, grade_level, " +
+            "academic_year, room_number, school_id, teacher_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUBJECT = "INSERT INTO subjects (id, name, description, code, credits, " +
+            "school_id, teacher_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_STUDENT = "INSERT INTO students (id, first_name, last_name, date_of_birth, " +
+            "phone, email, address, school_id, class_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ENROLLMENT = "INSERT INTO enrollments (id, enrollment_date, completion_date, " +
+            "grade, score, status, remarks, created_at, updated_at, student_id, subject_id, class_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    // Table and sequence names, in foreign-key order
+    private static final String[][] SEQUENCES = {
+        {"schools", "school_seq"}, {"teachers", "teacher_seq"}, {"classes", "class_seq"},
+        {"subjects", "subject_seq"}, {"students", "student_seq"}, {"enrollments", "enrollment_seq"}
+    };
+    
+    // Matches allocationSize on the entity sequence generators
+    private static final int ALLOCATION_SIZE = 50;
+    
+    private static final int ACADEMIC_YEAR = 2024;
+    
+    private final SeedProperties properties;
+    private final SchoolRepository schoolRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+    private final SchoolStatisticsReconciler statisticsReconciler;
+    
+    @Autowired
+    public SyntheticDataGenerator(SeedProperties properties,
+                                  SchoolRepository schoolRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  EntityManagerFactory entityManagerFactory,
+                                  CacheManager cacheManager,
+                                  SchoolStatisticsReconciler statisticsReconciler) {
+        this.properties = properties;
+        this.schoolRepository = schoolRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+        this.statisticsReconciler = statisticsReconciler;
+    }
+    
+    @Override
+    public void run(String... args) throws Exception {
+        if (schoolRepository.count() > 0) {
+            log.info("Database already contains schools, skipping synthetic data generation");
+            return;
+        }
+        generate();
+    }
+    
+    public void generate() throws InterruptedException, ExecutionException {
+        long start = System.nanoTime();
+        Layout layout = new Layout(properties);
+        log.info("Generating {} schools, {} teachers, {} classes, {} subjects, {} students, {} enrollments (seed {})",
+                layout.schools, layout.teacherBase[layout.schools], layout.classBase[layout.schools],
+                layout.subjectBase[layout.schools], layout.studentBase[layout.schools],
+                layout.enrollmentBase[layout.schools], properties.getRandomSeed());
+        
+        LongAdder rows = new LongAdder();
+        Batches schools = new Batches(rows);
+        for (int i = 0; i < layout.schools; i++) {
+            schools.add(0, INSERT_SCHOOL, schoolRow(layout, i));
+        }
+        schools.flush();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()));
+        try {
+            List<Future<?>> futures = new ArrayList<>(layout.schools);
+            for (int i = 0; i < layout.schools; i++) {
+                int school = i;
+                futures.add(executor.submit(() -> writeSchool(layout, school, rows)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        restartSequences();
+        // JDBC writes bypass the entity listeners that maintain school_statistics
+        statisticsReconciler.reconcile();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Generated {} rows in {} s ({} rows/s)", rows.sum(), String.format("%.1f", seconds),
+                Math.round(rows.sum() / seconds));
+    }
+    
+    private Object[] schoolRow(Layout layout, int school) {
+        SplittableRandom random = layout.random(school, STREAM_SCHOOL);
+        String city = layout.city(school);
+        String kind = pick(random, SCHOOL_KINDS);
+        return new Object[] {
+            school + 1L,
+            city + " " + kind + " " + (school + 1),
+            "A " + kind.toLowerCase() + " serving " + city,
+            address(random, city),
+            phone(random),
+            "office" + (school + 1) + "@" + domain(city) + ".edu"
+        };
+    }
+    
+    private void writeSchool(Layout layout, int school, LongAdder rows) {
+        SplittableRandom random = layout.random(school, STREAM_ROWS);
+        Batches batches = new Batches(rows);
+        long schoolId = school + 1L;
+        String city = layout.city(school);
+        String domain = domain(city);
+        
+        long teacherBase = layout.teacherBase[school];
+        int teachers = (int) (layout.teacherBase[school + 1] - teacherBase);
+        for (int t = 0; t < teachers; t++) {
+            long id = teacherBase + t + 1;
+            String first = pick(random, FIRST_NAMES);
+            String last = pick(random, LAST_NAMES);
+            batches.add(0, INSERT_TEACHER, new Object[] {
+                id, first, last, LocalDate.of(1960 + random.nextInt(35), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                phone(random), email(first, last, id, domain), address(random, city), pick(random, QUALIFICATIONS),
+                "E" + id, LocalDate.of(1990 + random.nextInt(34), 8, 1 + random.nextInt(28)), schoolId
+            });
+        }
+        
+        long classBase = layout.classBase[school];
+        int classes = (int) (layout.classBase[school + 1] - classBase);
+        for (int c = 0; c < classes; c++) {
+            long id = classBase + c + 1;
+            int grade = 9 + c % 4;
+            String section = String.valueOf((char) ('A' + (c / 4) % 26));
+            batches.add(1, INSERT_CLASS, new Object[] {
+                id, "Grade " + grade + section, "C" + Long.toString(id, 36).toUpperCase(),
+                "Grade " + grade + " Section " + section, grade, ACADEMIC_YEAR, "Room " + (100 + c),
+                schoolId, teacherBase + 1 + random.nextInt(teachers)
+            });
+        }
+        
+        long subjectBase = layout.subjectBase[school];
+        int subjects = (int) (layout.subjectBase[school + 1] - subjectBase);
+        for (int s = 0; s < subjects; s++) {
+            long id = subjectBase + s + 1;
+            String name = SUBJECT_NAMES[s % SUBJECT_NAMES.length];
+            if (s >= SUBJECT_NAMES.length) {
+                name += " " + (s / SUBJECT_NAMES.length + 1);
+            }
+            batches.add(2, INSERT_SUBJECT, new Object[] {
+                id, name, null, "S" + Long.toString(id, 36).toUpperCase(), 2 + random.nextInt(4),
+                schoolId, teacherBase + 1 + random.nextInt(teachers)
+            });
+        }
+        
+        SplittableRandom enrollmentCounts = layout.random(school, STREAM_ENROLLMENT_COUNTS);
+        long studentBase = layout.studentBase[school];
+        int students = (int) (layout.studentBase[school + 1] - studentBase);
+        long enrollmentId = layout.enrollmentBase[school];
+        boolean[] taken = new boolean[subjects];
+        for (int s = 0; s < students; s++) {
+            long id = studentBase + s + 1;
+            long classId = classBase + 1 + (long) s * classes / students;
+            String first = pick(random, FIRST_NAMES);
+            String last = pick(random, LAST_NAMES);
+            batches.add(3, INSERT_STUDENT, new Object[] {
+                id, first, last, LocalDate.of(2006 + random.nextInt(6), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                phone(random), email(first, last, id, domain), address(random, city), schoolId, classId
+            });
+            
+            int count = layout.enrollmentCount(enrollmentCounts, subjects);
+            Arrays.fill(taken, false);
+            for (int e = 0; e < count; e++) {
+                int subject = layout.popularSubject(random, taken);
+                taken[subject] = true;
+                batches.add(4, INSERT_ENROLLMENT, enrollmentRow(random, ++enrollmentId, id, subjectBase + subject + 1, classId));
+            }
+        }
+        batches.flush();
+    }
+    
+    private static Object[] enrollmentRow(SplittableRandom random, long id, long studentId, long subjectId, long classId) {
+        LocalDate enrolled = LocalDate.of(ACADEMIC_YEAR, 8, 20).plusDays(random.nextInt(30));
+        String status = STATUSES[weighted(random, STATUS_WEIGHTS)];
+        LocalDate completed = null;
+        Double score = null;
+        String grade = null;
+        if (status.equals("COMPLETED") || status.equals("FAILED")) {
+            completed = LocalDate.of(ACADEMIC_YEAR + 1, 6, 1).plusDays(random.nextInt(30));
+            double raw = status.equals("FAILED")
+                    ? 20 + random.nextDouble() * 30
+                    : Math.max(50, Math.min(100, 72 + random.nextGaussian() * 12));
+            score = Math.round(raw * 10) / 10.0;
+            grade = letterGrade(score);
+        }
+        LocalDateTime created = enrolled.atTime(8 + random.nextInt(10), random.nextInt(60));
+        return new Object[] {
+            id, enrolled, completed, grade, score, status, null, created,
+            completed != null ? completed.atTime(12, 0) : null, studentId, subjectId, classId
+        };
+    }
+    
+    private void restartSequences() {
+        for (String[] sequence : SEQUENCES) {
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + sequence[0], Long.class);
+            // One block of headroom so the pooled optimizer's first block starts above max
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence[1] + " RESTART WITH " + (max + 1 + ALLOCATION_SIZE));
+        }
+    }
+    
+    private static String letterGrade(double score) {
+        if (score >= 90) return "A";
+        if (score >= 80) return "B";
+        if (score >= 70) return "C";
+        if (score >= 60) return "D";
+        return "F";
+    }
+    
+    private static int weighted(SplittableRandom random, double[] weights) {
+        double r = random.nextDouble();
+        for (int i = 0; i < weights.length - 1; i++) {
+            r -= weights[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+    
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+    
+    private static String address(SplittableRandom random, String city) {
+        return (1 + random.nextInt(9999)) + " " + pick(random, STREETS) + ", " + city;
+    }
+    
+    private static String phone(SplittableRandom random) {
+        return String.format("+1-555-%03d-%04d", random.nextInt(1000), random.nextInt(10000));
+    }
+    
+    private static String email(String first, String last, long id, String domain) {
+        return first.toLowerCase() + "." + last.toLowerCase() + id + "@" + domain + ".edu";
+    }
+    
+    private static String domain(String city) {
+        return city.toLowerCase().replace(" ", "");
+    }
+    
+    /**
+     * Per-school row counts and their prefix sums, which double as id offsets: school {@code i}
+     * owns ids {@code base[i] + 1 .. base[i + 1]} in each table.
+     */
+    private static final class Layout {
+        
+        final int schools;
+        final long seed;
+        final long[] teacherBase;
+        final long[] classBase;
+        final long[] subjectBase;
+        final long[] studentBase;
+        final long[] enrollmentBase;
+        private final int enrollmentsPerStudent;
+        private final double[] subjectPopularity;
+        private final int[] cityOfSchool;
+        
+        Layout(SeedProperties properties) {
+            schools = Math.max(0, properties.getSchools());
+            seed = properties.getRandomSeed();
+            enrollmentsPerStudent = Math.max(0, properties.getEnrollmentsPerStudent());
+            int subjectsPerSchool = Math.max(1, properties.getSubjectsPerSchool());
+            
+            // Zipf weights over a seeded permutation of ranks, so big schools are spread across ids
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] rank = IntStream.range(0, schools).toArray();
+            for (int i = schools - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = rank[i];
+                rank[i] = rank[j];
+                rank[j] = swap;
+            }
+            double[] weight = new double[schools];
+            double totalWeight = 0;
+            for (int i = 0; i < schools; i++) {
+                weight[i] = Math.pow(rank[i] + 1, -properties.getSkew());
+                totalWeight += weight[i];
+            }
+            cityOfSchool = new int[schools];
+            for (int i = 0; i < schools; i++) {
+                cityOfSchool[i] = zipf(random, CITIES.length, 1.0);
+            }
+            
+            double totalStudents = (double) schools * Math.max(1, properties.getStudentsPerSchool());
+            int[] students = new int[schools];
+            for (int i = 0; i < schools; i++) {
+                students[i] = (int) Math.max(1, Math.round(totalStudents * weight[i] / totalWeight));
+            }
+            
+            teacherBase = new long[schools + 1];
+            classBase = new long[schools + 1];
+            subjectBase = new long[schools + 1];
+            studentBase = new long[schools + 1];
+            enrollmentBase = new long[schools + 1];
+            long[] enrollments = IntStream.range(0, schools).parallel()
+                    .mapToLong(i -> countEnrollments(i, students[i], subjectsPerSchool))
+                    .toArray();
+            for (int i = 0; i < schools; i++) {
+                int s = students[i];
+                teacherBase[i + 1] = teacherBase[i] + ceilDiv(s, Math.max(1, properties.getStudentsPerTeacher()));
+                classBase[i + 1] = classBase[i] + ceilDiv(s, Math.max(1, properties.getStudentsPerClass()));
+                subjectBase[i + 1] = subjectBase[i] + subjectsPerSchool;
+                studentBase[i + 1] = studentBase[i] + s;
+                enrollmentBase[i + 1] = enrollmentBase[i] + enrollments[i];
+            }
+            
+            subjectPopularity = new double[subjectsPerSchool];
+            double cumulative = 0;
+            for (int i = 0; i < subjectsPerSchool; i++) {
+                cumulative += Math.pow(i + 1, -properties.getSkew());
+                subjectPopularity[i] = cumulative;
+            }
+            for (int i = 0; i < subjectsPerSchool; i++) {
+                subjectPopularity[i] /= cumulative;
+            }
+        }
+        
+        SplittableRandom random(int school, int stream) {
+            long h = seed * 0x9E3779B97F4A7C15L + school;
+            h = h * 0x9E3779B97F4A7C15L + stream;
+            return new SplittableRandom(h);
+        }
+        
+        String city(int school) {
+            return CITIES[cityOfSchool[school]];
+        }
+        
+        // Replays exactly the draws writeSchool makes from the same stream
+        private long countEnrollments(int school, int students, int subjects) {
+            SplittableRandom counts = random(school, STREAM_ENROLLMENT_COUNTS);
+            long total = 0;
+            for (int s = 0; s < students; s++) {
+                total += enrollmentCount(counts, subjects);
+            }
+            return total;
+        }
+        
+        int enrollmentCount(SplittableRandom counts, int subjects) {
+            if (enrollmentsPerStudent == 0) {
+                return 0;
+            }
+            long count = Math.round(enrollmentsPerStudent + counts.nextGaussian() * enrollmentsPerStudent / 3.0);
+            return (int) Math.max(1, Math.min(subjects, count));
+        }
+        
+        // Draws by popularity, skipping subjects the student already takes
+        int popularSubject(SplittableRandom random, boolean[] taken) {
+            double r = random.nextDouble();
+            int subject = 0;
+            while (subject < subjectPopularity.length - 1 && subjectPopularity[subject] < r) {
+                subject++;
+            }
+            for (int i = 0; i < taken.length; i++) {
+                int candidate = (subject + i) % taken.length;
+                if (!taken[candidate]) {
+                    return candidate;
+                }
+            }
+            throw new IllegalStateException("Student already takes every subject");
+        }
+        
+        private static int zipf(SplittableRandom random, int n, double exponent) {
+            double total = 0;
+            for (int i = 1; i <= n; i++) {
+                total += Math.pow(i, -exponent);
+            }
+            double r = random.nextDouble() * total;
+            for (int i = 1; i <= n; i++) {
+                r -= Math.pow(i, -exponent);
+                if (r < 0) {
+                    return i - 1;
+                }
+            }
+            return n - 1;
+        }
+        
+        private static long ceilDiv(int value, int divisor) {
+            return Math.max(1, (value + divisor - 1) / divisor);
+        }
+    }
+    
+    /**
+     * Buffers rows per table and writes them as JDBC batches, one transaction per batch. Tables
+     * are numbered in foreign-key order, and filling one flushes every table before it first.
+     */
+    private final class Batches {
+        
+        private final List<String> statements = new ArrayList<>();
+        private final List<List<Object[]>> buffers = new ArrayList<>();
+        private final LongAdder rows;
+        private final int batchSize = Math.max(1, properties.getBatchSize());
+        
+        Batches(LongAdder rows) {
+            this.rows = rows;
+        }
+        
+        void add(int table, String sql, Object[] row) {
+            while (buffers.size() <= table) {
+                statements.add(null);
+                buffers.add(new ArrayList<>());
+            }
+            statements.set(table, sql);
+            List<Object[]> buffer = buffers.get(table);
+            buffer.add(row);
+            if (buffer.size() >= batchSize) {
+                flush(table);
+            }
+        }
+        
+        void flush() {
+            flush(buffers.size() - 1);
+        }
+        
+        private void flush(int upTo) {
+            for (int table = 0; table <= upTo; table++) {
+                List<Object[]> buffer = buffers.get(table);
+                if (buffer.isEmpty()) {
+                    continue;
+                }
+                String sql = statements.get(table);
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, buffer));
+                rows.add(buffer.size());
+                buffer.clear();
+            }
+        }
+    }
+}
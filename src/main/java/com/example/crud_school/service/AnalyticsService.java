@@ -0,0 +1,189 @@
+package com.example.crud_school.service;
+
+import com.example.crud_school.analytics.EnrollmentColumns;
+import com.example.crud_school.analytics.EnrollmentFilter;
+import com.example.crud_school.analytics.EnrollmentSnapshot;
+import com.example.crud_school.dto.EnrollmentStatisticsDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enrollment aggregates, computed from the in-memory {@link EnrollmentSnapshot} once it is
+ * ready and by the database until then. The database path runs one GROUP BY for counts, score
+ * statistics and percentiles, and one for the grade histogram, so nothing but the per-group
+ * results leaves the database. Both paths interpolate percentiles the same way.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AnalyticsService {
+    
+    /**
+     * What enrollments are grouped by. Academic year comes from the enrollment's class, so
+     * enrollments without a class are left out of CLASS and YEAR groupings.
+     */
+    public enum Dimension {
+        SUBJECT("sub.id", "sub.name", false, EnrollmentColumns.GroupBy.SUBJECT, "subjects"),
+        CLASS("c.id", "c.name", true, EnrollmentColumns.GroupBy.CLASS, "classes"),
+        SCHOOL("sch.id", "sch.name", false, EnrollmentColumns.GroupBy.SCHOOL, "schools"),
+        YEAR("c.academic_year", "CAST(c.academic_year AS VARCHAR)", true, EnrollmentColumns.GroupBy.ACADEMIC_YEAR, null);
+        
+        private final String key;
+        private final String label;
+        private final boolean needsClass;
+        private final EnrollmentColumns.GroupBy groupBy;
+        // Table holding the group names, or null when the key is its own label
+        private final String labelTable;
+        
+        Dimension(String key, String label, boolean needsClass,
+                  EnrollmentColumns.GroupBy groupBy, String labelTable) {
+            this.key = key;
+            this.label = label;
+            this.needsClass = needsClass;
+            this.groupBy = groupBy;
+            this.labelTable = labelTable;
+        }
+    }
+    
+    private static final String STATISTICS_COLUMNS = "COUNT(*) AS enrollments, COUNT(e.score) AS scored, " +
+            "AVG(e.score) AS mean_score, MIN(e.score) AS min_score, MAX(e.score) AS max_score, " +
+            "PERCENTILE_CONT(0.25) WITHIN GROUP (ORDER BY e.score) AS p25_score, " +
+            "PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY e.score) AS median_score, " +
+            "PERCENTILE_CONT(0.75) WITHIN GROUP (ORDER BY e.score) AS p75_score, " +
+            "PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY e.score) AS p90_score, " +
+            "COUNT(CASE WHEN e.status = 'ENROLLED' THEN 1 END) AS enrolled, " +
+            "COUNT(CASE WHEN e.status = 'COMPLETED' THEN 1 END) AS completed, " +
+            "COUNT(CASE WHEN e.status = 'FAILED' THEN 1 END) AS failed, " +
+            "COUNT(CASE WHEN e.status = 'DROPPED' THEN 1 END) AS dropped";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EnrollmentSnapshot snapshot;
+    
+    @Autowired
+    public AnalyticsService(NamedParameterJdbcTemplate jdbcTemplate, EnrollmentSnapshot snapshot) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshot = snapshot;
+    }
+    
+    /**
+     * Aggregates the enrollments matching {@code filter} per {@code dimension} value. Groups
+     * are returned in key order.
+     */
+    public List<EnrollmentStatisticsDto> getEnrollmentStatistics(Dimension dimension, EnrollmentFilter filter) {
+        List<EnrollmentStatisticsDto> statistics;
+        if (snapshot.isReady()) {
+            statistics = snapshot.aggregate(dimension.groupBy, filter);
+            addLabels(dimension, statistics);
+        } else {
+            statistics = queryStatistics(dimension, filter);
+        }
+        statistics.forEach(AnalyticsService::addRates);
+        return statistics;
+    }
+    
+    private List<EnrollmentStatisticsDto> queryStatistics(Dimension dimension, EnrollmentFilter filter) {
+        Long schoolId = filter.getSchoolId();
+        Integer academicYear = filter.getAcademicYear();
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        StringBuilder from = new StringBuilder(" FROM enrollments e JOIN subjects sub ON sub.id = e.subject_id");
+        if (dimension == Dimension.SCHOOL) {
+            from.append(" JOIN schools sch ON sch.id = sub.school_id");
+        }
+        if (dimension.needsClass || academicYear != null) {
+            from.append(" JOIN classes c ON c.id = e.class_id");
+        }
+        from.append(" WHERE 1 = 1");
+        if (schoolId != null) {
+            from.append(" AND sub.school_id = :schoolId");
+            parameters.addValue("schoolId", schoolId);
+        }
+        if (academicYear != null) {
+            from.append(" AND c.academic_year = :academicYear");
+            parameters.addValue("academicYear", academicYear);
+        }
+        if (filter.getStatus() != null) {
+            from.append(" AND e.status = :status");
+            parameters.addValue("status", filter.getStatus());
+        }
+        if (filter.getEnrolledFrom() != null) {
+            from.append(" AND e.enrollment_date >= :enrolledFrom");
+            parameters.addValue("enrolledFrom", filter.getEnrolledFrom());
+        }
+        if (filter.getEnrolledTo() != null) {
+            from.append(" AND e.enrollment_date <= :enrolledTo");
+            parameters.addValue("enrolledTo", filter.getEnrolledTo());
+        }
+        
+        Map<Long, EnrollmentStatisticsDto> groups = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT " + dimension.key + " AS group_id, " + dimension.label + " AS label, " +
+                STATISTICS_COLUMNS + from + " GROUP BY " + dimension.key + ", " + dimension.label +
+                " ORDER BY group_id", parameters, rs -> {
+            EnrollmentStatisticsDto dto = toStatistics(rs);
+            groups.put(dto.getGroupId(), dto);
+        });
+        
+        jdbcTemplate.query("SELECT " + dimension.key + " AS group_id, e.grade, COUNT(*) AS enrollments" + from +
+                " AND e.grade IS NOT NULL GROUP BY " + dimension.key + ", e.grade ORDER BY group_id, e.grade",
+                parameters, rs -> {
+            EnrollmentStatisticsDto dto = groups.get(rs.getLong("group_id"));
+            if (dto != null) {
+                dto.getGradeDistribution().put(rs.getString("grade"), rs.getLong("enrollments"));
+            }
+        });
+        return new ArrayList<>(groups.values());
+    }
+    
+    private static EnrollmentStatisticsDto toStatistics(ResultSet rs) throws SQLException {
+        EnrollmentStatisticsDto dto = new EnrollmentStatisticsDto(rs.getLong("group_id"), rs.getString("label"));
+        dto.setEnrollments(rs.getLong("enrollments"));
+        dto.setScored(rs.getLong("scored"));
+        dto.setMeanScore(rs.getObject("mean_score", Double.class));
+        dto.setMinScore(rs.getObject("min_score", Double.class));
+        dto.setP25Score(rs.getObject("p25_score", Double.class));
+        dto.setMedianScore(rs.getObject("median_score", Double.class));
+        dto.setP75Score(rs.getObject("p75_score", Double.class));
+        dto.setP90Score(rs.getObject("p90_score", Double.class));
+        dto.setMaxScore(rs.getObject("max_score", Double.class));
+        dto.setEnrolled(rs.getLong("enrolled"));
+        dto.setCompleted(rs.getLong("completed"));
+        dto.setFailed(rs.getLong("failed"));
+        dto.setDropped(rs.getLong("dropped"));
+        return dto;
+    }
+    
+    private void addLabels(Dimension dimension, List<EnrollmentStatisticsDto> statistics) {
+        if (dimension.labelTable == null) {
+            statistics.forEach(dto -> dto.setLabel(String.valueOf(dto.getGroupId())));
+            return;
+        }
+        if (statistics.isEmpty()) {
+            return;
+        }
+        Map<Long, EnrollmentStatisticsDto> groups = new HashMap<>();
+        statistics.forEach(dto -> groups.put(dto.getGroupId(), dto));
+        jdbcTemplate.query("SELECT id, name FROM " + dimension.labelTable + " WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", groups.keySet()),
+                rs -> {
+            groups.get(rs.getLong("id")).setLabel(rs.getString("name"));
+        });
+    }
+    
+    private static void addRates(EnrollmentStatisticsDto dto) {
+        long decided = dto.getCompleted() + dto.getFailed();
+        if (decided > 0) {
+            dto.setPassRate((double) dto.getCompleted() / decided);
+            dto.setFailRate((double) dto.getFailed() / decided);
+        }
+        dto.setDropRate((double) dto.getDropped() / dto.getEnrollments());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.crud_school.service;
+
+import com.example.crud_school.dto.CacheStatisticsDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CacheStatisticsService {
+    
+    private final SessionFactory sessionFactory;
+    
+    @Autowired
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+    
+    public CacheStatisticsDto getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        CacheStatisticsDto dto = new CacheStatisticsDto();
+        dto.setSecondLevelHits(statistics.getSecondLevelCacheHitCount());
+        dto.setSecondLevelMisses(statistics.getSecondLevelCacheMissCount());
+        dto.setSecondLevelPuts(statistics.getSecondLevelCachePutCount());
+        dto.setQueryHits(statistics.getQueryCacheHitCount());
+        dto.setQueryMisses(statistics.getQueryCacheMissCount());
+        dto.setQueryPuts(statistics.getQueryCachePutCount());
+        
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            // JCache providers do not report sizes; Hibernate signals that with Long.MIN_VALUE
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                dto.getRegions().add(new CacheStatisticsDto.RegionStatistics(regionName,
+                        region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                        Math.max(region.getElementCountInMemory(), -1)));
+            }
+        }
+        return dto;
+    }
+    
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+}
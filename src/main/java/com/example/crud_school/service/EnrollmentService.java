@@ -0,0 +1,201 @@
+package com.example.crud_school.service;
+
+import com.example.crud_school.config.IngestProperties;
+import com.example.crud_school.dto.BulkIngestResultDto;
+import com.example.crud_school.dto.EnrollmentDto;
+import com.example.crud_school.entity.Class;
+import com.example.crud_school.entity.Enrollment;
+import com.example.crud_school.entity.Student;
+import com.example.crud_school.entity.Subject;
+import com.example.crud_school.repository.EnrollmentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+@Transactional
+public class EnrollmentService {
+    
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentService.class);
+    
+    // Rows between persistence context clears (and output flushes) while exporting
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+    
+    private final EnrollmentRepository enrollmentRepository;
+    private final EntityManager entityManager;
+    private final ObjectReader enrollmentReader;
+    private final ObjectWriter enrollmentWriter;
+    private final TransactionTemplate batchTransaction;
+    private final IngestProperties ingestProperties;
+    
+    @Autowired
+    public EnrollmentService(EnrollmentRepository enrollmentRepository,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             IngestProperties ingestProperties) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.entityManager = entityManager;
+        this.enrollmentReader = objectMapper.readerFor(EnrollmentDto.class);
+        this.enrollmentWriter = objectMapper.writerFor(EnrollmentDto.class);
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ingestProperties = ingestProperties;
+    }
+    
+    /**
+     * Writes every enrollment to {@code out} as newline-delimited JSON, one object per line.
+     * Rows are read through a forward-only cursor and detached in chunks, so memory use does
+     * not grow with the table size.
+     *
+     * @return the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportEnrollments(OutputStream out) throws IOException {
+        long rows = 0;
+        try (Stream<Enrollment> enrollments = enrollmentRepository.streamAll()) {
+            Iterator<Enrollment> iterator = enrollments.iterator();
+            while (iterator.hasNext()) {
+                out.write(enrollmentWriter.writeValueAsBytes(convertToDto(iterator.next())));
+                out.write('\n');
+                
+                if (++rows % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        return rows;
+    }
+    
+    /**
+     * Inserts the enrollments read from {@code in}, either a JSON array or newline-delimited
+     * JSON, in batches, each in its own transaction and JDBC batch. Only one batch of rows is
+     * held in memory at a time. When a batch fails it is replayed row by row, so a bad row is
+     * reported on its own instead of aborting the rest of the load. Malformed input stops the
+     * read; the rows before it are still written and the position is reported as a failure.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkIngestResultDto ingestEnrollments(InputStream in) throws IOException {
+        int batchSize = Math.max(1, ingestProperties.getBatchSize());
+        BulkIngestResultDto result = new BulkIngestResultDto();
+        List<EnrollmentDto> chunk = new ArrayList<>(batchSize);
+        long start = System.nanoTime();
+        
+        try (MappingIterator<EnrollmentDto> rows = enrollmentReader.readValues(in)) {
+            while (rows.hasNextValue()) {
+                chunk.add(rows.nextValue());
+                result.setReceived(result.getReceived() + 1);
+                if (chunk.size() == batchSize) {
+                    ingestBatch(chunk, result.getReceived() - chunk.size(), batchSize, result);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException malformed) {
+            result.addFailure(result.getBatches(), result.getReceived(), "Malformed input: " + malformed.getOriginalMessage());
+        }
+        if (!chunk.isEmpty()) {
+            ingestBatch(chunk, result.getReceived() - chunk.size(), batchSize, result);
+        }
+        
+        long elapsedNanos = System.nanoTime() - start;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos == 0 ? 0 : result.getInserted() * 1_000_000_000.0 / elapsedNanos);
+        log.info("Ingested {} of {} enrollments in {} batches ({} ms, {} rows/s, {} failed)",
+                result.getInserted(), result.getReceived(), result.getBatches(),
+                result.getElapsedMillis(), Math.round(result.getRowsPerSecond()), result.getFailed());
+        return result;
+    }
+    
+    private void ingestBatch(List<EnrollmentDto> chunk, int from, int batchSize, BulkIngestResultDto result) {
+        int batch = result.getBatches();
+        try {
+            batchTransaction.executeWithoutResult(status -> persistBatch(chunk, batchSize));
+            result.setInserted(result.getInserted() + chunk.size());
+        } catch (RuntimeException batchError) {
+            log.debug("Batch {} failed, retrying row by row: {}", batch, batchError.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                List<EnrollmentDto> single = chunk.subList(i, i + 1);
+                try {
+                    batchTransaction.executeWithoutResult(status -> persistBatch(single, 1));
+                    result.setInserted(result.getInserted() + 1);
+                } catch (RuntimeException rowError) {
+                    result.addFailure(batch, from + i, NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+        result.setBatches(batch + 1);
+    }
+    
+    private void persistBatch(List<EnrollmentDto> rows, int batchSize) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        for (EnrollmentDto row : rows) {
+            entityManager.persist(convertToEntity(row));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    private Enrollment convertToEntity(EnrollmentDto dto) {
+        if (dto.getStudentId() == null || dto.getSubjectId() == null) {
+            throw new IllegalArgumentException("studentId and subjectId are required");
+        }
+        // References avoid a SELECT per association; missing rows surface as FK violations on flush
+        Enrollment enrollment = new Enrollment(
+                entityManager.getReference(Student.class, dto.getStudentId()),
+                entityManager.getReference(Subject.class, dto.getSubjectId()),
+                dto.getClassId() != null ? entityManager.getReference(Class.class, dto.getClassId()) : null
+        );
+        if (dto.getEnrollmentDate() != null) {
+            enrollment.setEnrollmentDate(dto.getEnrollmentDate());
+        }
+        if (dto.getStatus() != null) {
+            enrollment.setStatus(dto.getStatus());
+        }
+        enrollment.setCompletionDate(dto.getCompletionDate());
+        enrollment.setGrade(dto.getGrade());
+        enrollment.setScore(dto.getScore());
+        enrollment.setRemarks(dto.getRemarks());
+        return enrollment;
+    }
+    
+    private EnrollmentDto convertToDto(Enrollment enrollment) {
+        // Reading the id of a lazy association does not initialize the proxy
+        EnrollmentDto dto = new EnrollmentDto(
+                enrollment.getId(),
+                enrollment.getStudent().getId(),
+                enrollment.getSubject().getId(),
+                enrollment.getClazz() != null ? enrollment.getClazz().getId() : null,
+                enrollment.getEnrollmentDate(),
+                enrollment.getStatus()
+        );
+        dto.setCompletionDate(enrollment.getCompletionDate());
+        dto.setGrade(enrollment.getGrade());
+        dto.setScore(enrollment.getScore());
+        dto.setRemarks(enrollment.getRemarks());
+        return dto;
+    }
+}
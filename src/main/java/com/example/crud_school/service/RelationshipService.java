@@ -0,0 +1,56 @@
+package com.example.crud_school.service;
+
+import com.example.crud_school.relationship.RelationshipIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Relationship lookups answered from {@link RelationshipIndex}. Nothing here touches the
+ * database, so the methods run without a transaction.
+ */
+@Service
+public class RelationshipService {
+    
+    private final RelationshipIndex relationshipIndex;
+    
+    @Autowired
+    public RelationshipService(RelationshipIndex relationshipIndex) {
+        this.relationshipIndex = relationshipIndex;
+    }
+    
+    public boolean isReady() {
+        return relationshipIndex.isReady();
+    }
+    
+    public long[] getClassIdsBySchool(Long schoolId) {
+        return relationshipIndex.getClassesOfSchool(schoolId);
+    }
+    
+    public long[] getStudentIdsBySchool(Long schoolId) {
+        return relationshipIndex.getStudentsOfSchool(schoolId);
+    }
+    
+    public long[] getStudentIdsByClass(Long classId) {
+        return relationshipIndex.getStudentsOfClass(classId);
+    }
+    
+    public long[] getSubjectIdsByTeacher(Long teacherId) {
+        return relationshipIndex.getSubjectsOfTeacher(teacherId);
+    }
+    
+    public long[] getSubjectIdsByStudent(Long studentId) {
+        return relationshipIndex.getSubjectsOfStudent(studentId);
+    }
+    
+    public long[] getEnrollmentIdsByStudent(Long studentId) {
+        return relationshipIndex.getEnrollmentsOfStudent(studentId);
+    }
+    
+    public long[] getEnrollmentIdsBySubject(Long subjectId) {
+        return relationshipIndex.getEnrollmentsOfSubject(subjectId);
+    }
+    
+    public boolean isEnrolled(Long studentId, Long subjectId) {
+        return relationshipIndex.isEnrolled(studentId, subjectId);
+    }
+}
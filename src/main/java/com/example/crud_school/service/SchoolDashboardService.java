@@ -0,0 +1,179 @@
+package com.example.crud_school.service;
+
+import com.example.crud_school.analytics.EnrollmentFilter;
+import com.example.crud_school.config.DashboardProperties;
+import com.example.crud_school.dto.ClassDto;
+import com.example.crud_school.dto.EnrollmentStatisticsDto;
+import com.example.crud_school.dto.SchoolDashboardDto;
+import com.example.crud_school.dto.SchoolDto;
+import com.example.crud_school.dto.SubjectDto;
+import com.example.crud_school.dto.TeacherDto;
+import com.example.crud_school.metrics.QueryStats;
+import com.example.crud_school.repository.ClassRepository;
+import com.example.crud_school.repository.SubjectRepository;
+import com.example.crud_school.repository.TeacherRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the school dashboard from independent reads that run at the same time, each on its
+ * own virtual thread and in its own read-only transaction, so the response takes as long as the
+ * slowest read rather than the sum. Reads still running after {@code school.dashboard.branch-timeout}
+ * are cancelled and their sections reported as incomplete.
+ * <p>
+ * Every read borrows a pooled connection, so a semaphore shared by all requests caps how many
+ * run at once ({@code school.dashboard.max-concurrent-reads}). Reads queue for it on their
+ * virtual threads and count as incomplete if their turn does not come before the timeout.
+ */
+@Service
+public class SchoolDashboardService {
+    
+    private static final Logger log = LoggerFactory.getLogger(SchoolDashboardService.class);
+    
+    private final SchoolService schoolService;
+    private final AnalyticsService analyticsService;
+    private final TeacherRepository teacherRepository;
+    private final ClassRepository classRepository;
+    private final SubjectRepository subjectRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration branchTimeout;
+    private final Semaphore connections;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    @Autowired
+    public SchoolDashboardService(SchoolService schoolService,
+                                  AnalyticsService analyticsService,
+                                  TeacherRepository teacherRepository,
+                                  ClassRepository classRepository,
+                                  SubjectRepository subjectRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  DashboardProperties properties,
+                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                  @Value("${school.datasource.replica.url:}") String replicaUrl,
+                                  @Value("${school.datasource.replica.hikari.maximum-pool-size:10}") int replicaPoolSize) {
+        this.schoolService = schoolService;
+        this.analyticsService = analyticsService;
+        this.teacherRepository = teacherRepository;
+        this.classRepository = classRepository;
+        this.subjectRepository = subjectRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.branchTimeout = properties.getBranchTimeout();
+        // The reads run in read-only transactions, which take replica connections when a replica is set
+        int readPoolSize = replicaUrl.isEmpty() ? poolSize : replicaPoolSize;
+        int maxConcurrentReads = properties.getMaxConcurrentReads() != null
+                ? properties.getMaxConcurrentReads()
+                : readPoolSize / 2;
+        this.connections = new Semaphore(Math.max(1, maxConcurrentReads), true);
+    }
+    
+    /**
+     * Returns the dashboard, or empty if the school does not exist. If the school itself could
+     * not be read in time the dashboard is returned without it.
+     */
+    public Optional<SchoolDashboardDto> getDashboard(Long schoolId) {
+        long deadline = System.nanoTime() + branchTimeout.toNanos();
+        Future<Result<Optional<SchoolDto>>> school = submit(deadline, () -> schoolService.getSchoolById(schoolId));
+        Future<Result<List<TeacherDto>>> teachers = submit(deadline, () -> readOnlyTransaction.execute(status ->
+                teacherRepository.findDtosBySchoolId(schoolId)));
+        Future<Result<List<ClassDto>>> classes = submit(deadline, () -> readOnlyTransaction.execute(status ->
+                classRepository.findDtosBySchoolId(schoolId)));
+        Future<Result<List<SubjectDto>>> subjects = submit(deadline, () -> readOnlyTransaction.execute(status ->
+                subjectRepository.findDtosBySchoolId(schoolId)));
+        Future<Result<List<EnrollmentStatisticsDto>>> statistics = submit(deadline, () -> analyticsService.getEnrollmentStatistics(
+                AnalyticsService.Dimension.SUBJECT, new EnrollmentFilter(schoolId, null)));
+        
+        SchoolDashboardDto dashboard = new SchoolDashboardDto();
+        List<String> incomplete = new ArrayList<>();
+        Optional<SchoolDto> found = await(school, "school", deadline, incomplete);
+        if (found != null && found.isEmpty()) {
+            for (Future<?> branch : List.of(teachers, classes, subjects, statistics)) {
+                branch.cancel(true);
+            }
+            return Optional.empty();
+        }
+        dashboard.setSchool(found != null ? found.get() : null);
+        dashboard.setTeachers(await(teachers, "teachers", deadline, incomplete));
+        dashboard.setClasses(await(classes, "classes", deadline, incomplete));
+        dashboard.setSubjects(await(subjects, "subjects", deadline, incomplete));
+        dashboard.setEnrollmentStatistics(await(statistics, "enrollmentStatistics", deadline, incomplete));
+        if (!incomplete.isEmpty()) {
+            dashboard.setIncomplete(incomplete);
+        }
+        return Optional.of(dashboard);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    // What a branch returned, with the JDBC work it did for the request's query metrics
+    private record Result<T>(T value, QueryStats stats) {}
+    
+    private <T> Future<Result<T>> submit(long deadline, Callable<T> branch) {
+        boolean collecting = QueryStats.current() != null;
+        return executor.submit(() -> {
+            if (!connections.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw new TimeoutException("No connection free for the dashboard read");
+            }
+            try {
+                if (!collecting) {
+                    return new Result<>(branch.call(), null);
+                }
+                QueryStats stats = QueryStats.start();
+                try {
+                    return new Result<>(branch.call(), stats);
+                } finally {
+                    QueryStats.stop();
+                }
+            } finally {
+                connections.release();
+            }
+        });
+    }
+    
+    /**
+     * Waits for a branch until the shared deadline. Returns null, and records the section as
+     * incomplete, if the branch failed or is cancelled for running late.
+     */
+    private <T> T await(Future<Result<T>> branch, String section, long deadline, List<String> incomplete) {
+        try {
+            Result<T> result = branch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            QueryStats requestStats = QueryStats.current();
+            if (requestStats != null && result.stats() != null) {
+                requestStats.add(result.stats());
+            }
+            return result.value();
+        } catch (TimeoutException e) {
+            branch.cancel(true);
+            log.warn("Dashboard section '{}' did not finish within {} ms", section, branchTimeout.toMillis());
+        } catch (ExecutionException e) {
+            log.warn("Dashboard section '{}' failed", section, e.getCause());
+        } catch (InterruptedException e) {
+            branch.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        incomplete.add(section);
+        return null;
+    }
+}
@@ -1,72 +1,139 @@
 package com.example.crud_school.service;
 
+import com.example.crud_school.cache.SchoolDtoCache;
 import com.example.crud_school.dto.SchoolDto;
+import com.example.crud_school.dto.SchoolField;
+import com.example.crud_school.dto.SchoolRevision;
+import com.example.crud_school.dto.SchoolSummary;
 import com.example.crud_school.entity.School;
+import com.example.crud_school.entity.SchoolStatistics;
 import com.example.crud_school.repository.SchoolRepository;
-import com.example.crud_school.repository.StudentRepository;
-import com.example.crud_school.repository.TeacherRepository;
-import com.example.crud_school.repository.SubjectRepository;
-import com.example.crud_school.repository.ClassRepository;
+import com.example.crud_school.repository.SchoolStatisticsRepository;
+import com.example.crud_school.search.EntitySearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
+@CacheConfig(cacheNames = SchoolDtoCache.NAME, keyGenerator = "methodAndArgumentsKeyGenerator")
 public class SchoolService {
     
+    // Upper bound on name/city search results
+    static final int MAX_SEARCH_RESULTS = 1000;
+    
     private final SchoolRepository schoolRepository;
-    private final StudentRepository studentRepository;
-    private final TeacherRepository teacherRepository;
-    private final SubjectRepository subjectRepository;
-    private final ClassRepository classRepository;
+    private final SchoolStatisticsRepository statisticsRepository;
+    private final EntitySearchIndex searchIndex;
     
     
     @Autowired
     public SchoolService(SchoolRepository schoolRepository, 
-                        StudentRepository studentRepository,
-                        TeacherRepository teacherRepository,
-                        SubjectRepository subjectRepository,
-                        ClassRepository classRepository) {
+                        SchoolStatisticsRepository statisticsRepository,
+                        EntitySearchIndex searchIndex) {
         this.schoolRepository = schoolRepository;
-        this.studentRepository = studentRepository;
-        this.teacherRepository = teacherRepository;
-        this.subjectRepository = subjectRepository;
-        this.classRepository = classRepository;
+        this.statisticsRepository = statisticsRepository;
+        this.searchIndex = searchIndex;
     }
     
-    public List<SchoolDto> getAllSchools() {
-        return schoolRepository.findAll().stream()
+    @Cacheable(sync = true)
+    public List<SchoolDto> getSchoolsPage(Long afterId, int size) {
+        return schoolRepository.findSummariesAfter(afterId == null ? 0L : afterId, Limit.of(size)).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    @Cacheable(sync = true)
     public Optional<SchoolDto> getSchoolById(Long id) {
-        return schoolRepository.findById(id)
+        return schoolRepository.findSummaryById(id)
                 .map(this::convertToDto);
     }
     
+    @Cacheable(sync = true)
     public Optional<SchoolDto> getSchoolByName(String name) {
-        return schoolRepository.findByName(name)
+        return schoolRepository.findSummaryByName(name)
                 .map(this::convertToDto);
     }
     
+    @Cacheable(sync = true)
     public List<SchoolDto> searchSchoolsByName(String name) {
-        return schoolRepository.findByNameContainingIgnoreCase(name).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        if (!searchIndex.isReady()) {
+            return schoolRepository.findSummariesByNameContaining(name).stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+        }
+        return findSummaries(searchIndex.searchSchools(EntitySearchIndex.Field.NAME, name, MAX_SEARCH_RESULTS));
     }
     
+    @Cacheable(sync = true)
     public List<SchoolDto> getSchoolsByCity(String city) {
-        return schoolRepository.findByCity(city).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        if (!searchIndex.isReady()) {
+            return schoolRepository.findSummariesByCity(city).stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+        }
+        return findSummaries(searchIndex.searchSchools(EntitySearchIndex.Field.ADDRESS, city, MAX_SEARCH_RESULTS));
+    }
+    
+    // Sparse reads run one query shaped by the fields and answer conditional requests from its
+    // revisions, so like the revisions below they are never served from the cache
+    public List<SchoolDto> getSchoolsPage(Long afterId, int size, Set<SchoolField> fields) {
+        return convertToDtos(schoolRepository.findFieldsAfter(fields, afterId == null ? 0L : afterId, size), fields);
+    }
+    
+    public Optional<SchoolDto> getSchoolById(Long id, Set<SchoolField> fields) {
+        return schoolRepository.findFieldsById(fields, id)
+                .map(summary -> convertToDto(summary, fields));
+    }
+    
+    public List<SchoolDto> searchSchoolsByName(String name, Set<SchoolField> fields) {
+        if (!searchIndex.isReady()) {
+            return convertToDtos(schoolRepository.findFieldsByNameContaining(fields, name), fields);
+        }
+        return findFields(searchIndex.searchSchools(EntitySearchIndex.Field.NAME, name, MAX_SEARCH_RESULTS), fields);
+    }
+    
+    public List<SchoolDto> getSchoolsByCity(String city, Set<SchoolField> fields) {
+        if (!searchIndex.isReady()) {
+            return convertToDtos(schoolRepository.findFieldsByCity(fields, city), fields);
+        }
+        return findFields(searchIndex.searchSchools(EntitySearchIndex.Field.ADDRESS, city, MAX_SEARCH_RESULTS), fields);
+    }
+    
+    // Revisions are what conditional requests check, so they are never served from the cache
+    public Optional<SchoolRevision> getSchoolRevision(Long id) {
+        return schoolRepository.findRevisionById(id);
+    }
+    
+    public List<SchoolRevision> getSchoolRevisionsPage(Long afterId, int size) {
+        return schoolRepository.findRevisionsAfter(afterId == null ? 0L : afterId, Limit.of(size));
+    }
+    
+    public List<SchoolRevision> searchSchoolRevisionsByName(String name) {
+        if (!searchIndex.isReady()) {
+            return schoolRepository.findRevisionsByNameContaining(name);
+        }
+        return findRevisions(searchIndex.searchSchools(EntitySearchIndex.Field.NAME, name, MAX_SEARCH_RESULTS));
+    }
+    
+    public List<SchoolRevision> getSchoolRevisionsByCity(String city) {
+        if (!searchIndex.isReady()) {
+            return schoolRepository.findRevisionsByCity(city);
+        }
+        return findRevisions(searchIndex.searchSchools(EntitySearchIndex.Field.ADDRESS, city, MAX_SEARCH_RESULTS));
     }
     
+    @Transactional
     public SchoolDto createSchool(School school) {
         if (schoolRepository.existsByName(school.getName())) {
             throw new RuntimeException("School with name '" + school.getName() + "' already exists");
@@ -75,9 +142,19 @@ public class SchoolService {
         return convertToDto(savedSchool);
     }
     
-    public Optional<SchoolDto> updateSchool(Long id, School schoolDetails) {
+    /**
+     * Updates the school if it exists. With an expected version, a school that has moved on since
+     * throws {@link ObjectOptimisticLockingFailureException}, as does one changed by a concurrent
+     * update before this one is flushed.
+     */
+    @Transactional
+    public Optional<SchoolDto> updateSchool(Long id, School schoolDetails, Long expectedVersion) {
         return schoolRepository.findById(id)
                 .map(existingSchool -> {
+                    if (expectedVersion != null && !expectedVersion.equals(existingSchool.getVersion())) {
+                        throw new ObjectOptimisticLockingFailureException(School.class, id);
+                    }
+                    
                     // Check if the new name conflicts with another school
                     if (!existingSchool.getName().equals(schoolDetails.getName()) &&
                         schoolRepository.existsByName(schoolDetails.getName())) {
@@ -90,11 +167,13 @@ public class SchoolService {
                     existingSchool.setPhone(schoolDetails.getPhone());
                     existingSchool.setEmail(schoolDetails.getEmail());
                     
-                    School updatedSchool = schoolRepository.save(existingSchool);
+                    // Flush now so the DTO carries the incremented version
+                    School updatedSchool = schoolRepository.saveAndFlush(existingSchool);
                     return convertToDto(updatedSchool);
                 });
     }
     
+    @Transactional
     public boolean deleteSchool(Long id) {
         if (schoolRepository.existsById(id)) {
             schoolRepository.deleteById(id);
@@ -107,6 +186,29 @@ public class SchoolService {
         return schoolRepository.countSchools();
     }
     
+    private List<SchoolDto> findSummaries(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return schoolRepository.findSummariesByIds(Arrays.stream(ids).boxed().toList()).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+    
+    private List<SchoolDto> findFields(long[] ids, Set<SchoolField> fields) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return convertToDtos(schoolRepository.findFieldsByIds(fields, Arrays.stream(ids).boxed().toList()), fields);
+    }
+    
+    private List<SchoolRevision> findRevisions(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        return schoolRepository.findRevisionsByIds(Arrays.stream(ids).boxed().toList());
+    }
+    
     private SchoolDto convertToDto(School school) {
         SchoolDto dto = new SchoolDto(
                 school.getId(),
@@ -117,12 +219,51 @@ public class SchoolService {
                 school.getEmail()
         );
         
-        // Add counts
-        dto.setStudentCount(studentRepository.countBySchoolId(school.getId()));
-        dto.setTeacherCount(teacherRepository.countBySchoolId(school.getId()));
-        dto.setSubjectCount(subjectRepository.countBySchoolId(school.getId()));
-        dto.setClassCount(classRepository.countBySchoolId(school.getId()));
+        // Add counts; a school created in this transaction has no statistics row until commit
+        SchoolStatistics statistics = statisticsRepository.findById(school.getId()).orElse(null);
+        dto.setStudentCount(statistics != null ? statistics.getStudentCount() : 0L);
+        dto.setTeacherCount(statistics != null ? statistics.getTeacherCount() : 0L);
+        dto.setSubjectCount(statistics != null ? statistics.getSubjectCount() : 0L);
+        dto.setClassCount(statistics != null ? statistics.getClassCount() : 0L);
+        dto.setRevision(new SchoolRevision(school.getId(), school.getVersion(), school.getUpdatedAt(),
+                statistics != null ? statistics.getVersion() : 0L,
+                statistics != null ? statistics.getUpdatedAt() : null));
         
         return dto;
     }
+    
+    private SchoolDto convertToDto(SchoolSummary summary) {
+        SchoolDto dto = new SchoolDto(
+                summary.id(),
+                summary.name(),
+                summary.description(),
+                summary.address(),
+                summary.phone(),
+                summary.email()
+        );
+        
+        // Counts come pre-aggregated from the summary query
+        dto.setStudentCount(summary.studentCount());
+        dto.setTeacherCount(summary.teacherCount());
+        dto.setSubjectCount(summary.subjectCount());
+        dto.setClassCount(summary.classCount());
+        dto.setRevision(summary.revision());
+        
+        return dto;
+    }
+    
+    private List<SchoolDto> convertToDtos(List<SchoolSummary> summaries, Set<SchoolField> fields) {
+        return summaries.stream()
+                .map(summary -> convertToDto(summary, fields))
+                .collect(Collectors.toList());
+    }
+    
+    // Unselected fields stay null and are left out of the body; the version is always read for the ETag
+    private SchoolDto convertToDto(SchoolSummary summary, Set<SchoolField> fields) {
+        SchoolDto dto = convertToDto(summary);
+        if (!fields.contains(SchoolField.VERSION)) {
+            dto.setVersion(null);
+        }
+        return dto;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.example.crud_school.service;
+
+import com.example.crud_school.dto.StudentDto;
+import com.example.crud_school.dto.TeacherDto;
+import com.example.crud_school.repository.StudentRepository;
+import com.example.crud_school.repository.TeacherRepository;
+import com.example.crud_school.search.EntitySearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class SearchService {
+    
+    private final EntitySearchIndex searchIndex;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    
+    @Autowired
+    public SearchService(EntitySearchIndex searchIndex,
+                         StudentRepository studentRepository,
+                         TeacherRepository teacherRepository) {
+        this.searchIndex = searchIndex;
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+    }
+    
+    public boolean isReady() {
+        return searchIndex.isReady();
+    }
+    
+    public List<StudentDto> searchStudents(EntitySearchIndex.Field field, String query, int limit) {
+        long[] ids = searchIndex.searchStudents(field, query, limit);
+        return studentRepository.findDtosByIds(boxed(ids));
+    }
+    
+    public List<TeacherDto> searchTeachers(EntitySearchIndex.Field field, String query, int limit) {
+        long[] ids = searchIndex.searchTeachers(field, query, limit);
+        return teacherRepository.findDtosByIds(boxed(ids));
+    }
+    
+    private static List<Long> boxed(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.crud_school.statistics;
+
+import com.example.crud_school.entity.Class;
+import com.example.crud_school.entity.School;
+import com.example.crud_school.entity.Student;
+import com.example.crud_school.entity.Subject;
+import com.example.crud_school.entity.Teacher;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@code school_statistics} in step with student, teacher, subject and class writes.
+ * Entity events collect per-school deltas for the session, and the deltas are applied with one
+ * UPDATE per school just before the transaction commits, after the final flush. The counts
+ * therefore commit or roll back together with the rows they describe.
+ *
+ * <p>Writes that bypass Hibernate (JDBC loads, bulk JPQL) are not seen here;
+ * {@link SchoolStatisticsReconciler} repairs the counts after such loads and on a schedule.
+ */
+@Component
+public class SchoolStatisticsMaintainer implements PostInsertEventListener,
+        PostUpdateEventListener, PostDeleteEventListener {
+    
+    // Version 1, so a row added for a school that had none still changes the school's ETag
+    static final String INSERT = "INSERT INTO school_statistics (school_id, student_count, teacher_count, " +
+            "subject_count, class_count, version, updated_at) VALUES (?, ?, ?, ?, ?, 1, CURRENT_TIMESTAMP)";
+    private static final String DELETE = "DELETE FROM school_statistics WHERE school_id = ?";
+    private static final String APPLY_DELTA = "UPDATE school_statistics SET student_count = student_count + ?, " +
+            "teacher_count = teacher_count + ?, subject_count = subject_count + ?, class_count = class_count + ?, " +
+            "version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE school_id = ?";
+    
+    // Index of each entity type's count in a delta array, in column order
+    private static final int STUDENTS = 0;
+    private static final int TEACHERS = 1;
+    private static final int SUBJECTS = 2;
+    private static final int CLASSES = 3;
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<EventSource, PendingChanges> pending = new ConcurrentHashMap<>();
+    
+    public SchoolStatisticsMaintainer(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+    
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof School school) {
+            changes(event.getSession()).created.add(school.getId());
+            return;
+        }
+        int column = columnOf(entity);
+        if (column >= 0) {
+            changes(event.getSession()).add(schoolId(schoolOf(entity)), column, 1);
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        int column = columnOf(event.getEntity());
+        // Without the loaded state a move cannot be detected; the reconciler picks it up instead
+        if (column < 0 || event.getOldState() == null) {
+            return;
+        }
+        int index = Arrays.asList(event.getPersister().getPropertyNames()).indexOf("school");
+        Long previous = schoolId((School) event.getOldState()[index]);
+        Long current = schoolId(schoolOf(event.getEntity()));
+        if (previous != null && !previous.equals(current)) {
+            PendingChanges changes = changes(event.getSession());
+            changes.add(previous, column, -1);
+            changes.add(current, column, 1);
+        }
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof School school) {
+            changes(event.getSession()).deleted.add(school.getId());
+            return;
+        }
+        int column = columnOf(entity);
+        if (column >= 0) {
+            changes(event.getSession()).add(schoolId(schoolOf(entity)), column, -1);
+        }
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+    
+    private PendingChanges changes(EventSource session) {
+        return pending.computeIfAbsent(session, key -> {
+            PendingChanges changes = new PendingChanges();
+            key.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing ->
+                    completing.doWork(connection -> changes.apply(connection)));
+            key.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) ->
+                    pending.remove(key));
+            return changes;
+        });
+    }
+    
+    private static int columnOf(Object entity) {
+        if (entity instanceof Student) {
+            return STUDENTS;
+        } else if (entity instanceof Teacher) {
+            return TEACHERS;
+        } else if (entity instanceof Subject) {
+            return SUBJECTS;
+        } else if (entity instanceof Class) {
+            return CLASSES;
+        }
+        return -1;
+    }
+    
+    private static School schoolOf(Object entity) {
+        if (entity instanceof Student student) {
+            return student.getSchool();
+        } else if (entity instanceof Teacher teacher) {
+            return teacher.getSchool();
+        } else if (entity instanceof Subject subject) {
+            return subject.getSchool();
+        }
+        return ((Class) entity).getSchool();
+    }
+    
+    private static Long schoolId(School school) {
+        // getId() on an uninitialized proxy does not hit the database
+        return school != null ? school.getId() : null;
+    }
+    
+    /**
+     * Changes made in one transaction. Schools are processed in id order so that concurrent
+     * transactions lock statistics rows in the same order.
+     */
+    private static class PendingChanges {
+        
+        final TreeSet<Long> created = new TreeSet<>();
+        final TreeSet<Long> deleted = new TreeSet<>();
+        final TreeMap<Long, long[]> deltas = new TreeMap<>();
+        
+        void add(Long schoolId, int column, long delta) {
+            if (schoolId != null) {
+                deltas.computeIfAbsent(schoolId, id -> new long[4])[column] += delta;
+            }
+        }
+        
+        void apply(Connection connection) throws SQLException {
+            if (!created.isEmpty()) {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                    for (Long schoolId : created) {
+                        // A new school's children are all in this transaction, so its counts start from them
+                        long[] counts = deltas.getOrDefault(schoolId, new long[4]);
+                        insert.setLong(1, schoolId);
+                        for (int column = 0; column < counts.length; column++) {
+                            insert.setLong(column + 2, counts[column]);
+                        }
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+                deltas.keySet().removeAll(created);
+            }
+            deltas.keySet().removeAll(deleted);
+            if (!deltas.isEmpty()) {
+                try (PreparedStatement update = connection.prepareStatement(APPLY_DELTA)) {
+                    for (Map.Entry<Long, long[]> entry : deltas.entrySet()) {
+                        long[] delta = entry.getValue();
+                        for (int column = 0; column < delta.length; column++) {
+                            update.setLong(column + 1, delta[column]);
+                        }
+                        update.setLong(delta.length + 1, entry.getKey());
+                        update.addBatch();
+                    }
+                    update.executeBatch();
+                }
+            }
+            if (!deleted.isEmpty()) {
+                try (PreparedStatement delete = connection.prepareStatement(DELETE)) {
+                    for (Long schoolId : deleted) {
+                        delete.setLong(1, schoolId);
+                        delete.addBatch();
+                    }
+                    delete.executeBatch();
+                }
+            }
+        }
+    }
+}
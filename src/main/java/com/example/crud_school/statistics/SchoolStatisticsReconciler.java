@@ -0,0 +1,153 @@
+package com.example.crud_school.statistics;
+
+import com.example.crud_school.cache.SchoolDtoCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recounts every school's students, teachers, subjects and classes and corrects
+ * {@code school_statistics} rows that disagree, are missing or belong to deleted schools.
+ *
+ * <p>Schools are checked in id-ordered chunks, each in its own transaction. A chunk locks its
+ * statistics rows before counting, so a concurrent writer has either committed its delta
+ * (and the count includes its rows) or is still waiting to apply it (and the count does not).
+ *
+ * <p>The corrections are plain JDBC and publish no entity events, so once a chunk commits the
+ * schools it corrected are evicted from the {@link SchoolDtoCache} here.
+ */
+@Component
+public class SchoolStatisticsReconciler {
+    
+    private static final Logger log = LoggerFactory.getLogger(SchoolStatisticsReconciler.class);
+    
+    private static final int CHUNK_SIZE = 500;
+    
+    // Positions in the per-run change tally
+    private static final int MISSING = 0;
+    private static final int DRIFTED = 1;
+    
+    private static final String[] COUNTED_TABLES = {"students", "teachers", "subjects", "classes"};
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchoolDtoCache schoolDtoCache;
+    private final Counter driftCounter;
+    
+    @Autowired
+    public SchoolStatisticsReconciler(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      SchoolDtoCache schoolDtoCache,
+                                      MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.schoolDtoCache = schoolDtoCache;
+        this.driftCounter = Counter.builder("school.statistics.drift")
+                .description("School statistics rows corrected by reconciliation")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${school.statistics.reconcile-interval:15m}",
+               initialDelayString = "${school.statistics.reconcile-interval:15m}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+    
+    /**
+     * Brings every statistics row in line with the tables it counts. Rows missing for a school
+     * (for example after a JDBC load) are created; rows with wrong counts or for deleted schools
+     * count as drift.
+     *
+     * @return the number of rows that were created, corrected or deleted
+     */
+    public int reconcile() {
+        long start = System.nanoTime();
+        int[] changes = new int[2];
+        long afterId = 0;
+        while (true) {
+            List<Long> schoolIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM schools WHERE id > ? ORDER BY id LIMIT " + CHUNK_SIZE, Long.class, afterId);
+            if (schoolIds.isEmpty()) {
+                break;
+            }
+            List<Long> corrected = transactionTemplate.execute(status -> reconcileChunk(schoolIds, changes));
+            if (!corrected.isEmpty()) {
+                schoolDtoCache.evictSchools(corrected, false);
+            }
+            afterId = schoolIds.get(schoolIds.size() - 1);
+        }
+        changes[DRIFTED] += transactionTemplate.execute(status -> jdbcTemplate.update(
+                "DELETE FROM school_statistics st WHERE NOT EXISTS (SELECT 1 FROM schools s WHERE s.id = st.school_id)"));
+        
+        driftCounter.increment(changes[DRIFTED]);
+        if (changes[DRIFTED] > 0) {
+            log.warn("Corrected {} drifted school statistics rows", changes[DRIFTED]);
+        }
+        log.info("Reconciled school statistics in {} ms ({} created, {} corrected)",
+                (System.nanoTime() - start) / 1_000_000, changes[MISSING], changes[DRIFTED]);
+        return changes[MISSING] + changes[DRIFTED];
+    }
+    
+    // Returns the ids of the schools whose row was created or corrected
+    private List<Long> reconcileChunk(List<Long> schoolIds, int[] changes) {
+        long first = schoolIds.get(0);
+        long last = schoolIds.get(schoolIds.size() - 1);
+        
+        Map<Long, long[]> stored = new HashMap<>();
+        jdbcTemplate.query("SELECT school_id, student_count, teacher_count, subject_count, class_count " +
+                "FROM school_statistics WHERE school_id BETWEEN ? AND ? ORDER BY school_id FOR UPDATE", rs -> {
+            stored.put(rs.getLong(1), new long[] {rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)});
+        }, first, last);
+        
+        Map<Long, long[]> actual = new HashMap<>();
+        for (Long schoolId : schoolIds) {
+            actual.put(schoolId, new long[COUNTED_TABLES.length]);
+        }
+        for (int column = 0; column < COUNTED_TABLES.length; column++) {
+            int index = column;
+            jdbcTemplate.query("SELECT school_id, COUNT(*) FROM " + COUNTED_TABLES[column] +
+                    " WHERE school_id BETWEEN ? AND ? GROUP BY school_id", rs -> {
+                long[] counts = actual.get(rs.getLong(1));
+                // Rows of a school created after the id list was read are left for the next run
+                if (counts != null) {
+                    counts[index] = rs.getLong(2);
+                }
+            }, first, last);
+        }
+        
+        List<Long> corrected = new ArrayList<>();
+        for (Map.Entry<Long, long[]> entry : actual.entrySet()) {
+            long[] counts = entry.getValue();
+            long[] current = stored.get(entry.getKey());
+            if (current == null) {
+                jdbcTemplate.update(SchoolStatisticsMaintainer.INSERT,
+                        entry.getKey(), counts[0], counts[1], counts[2], counts[3]);
+                changes[MISSING]++;
+                corrected.add(entry.getKey());
+            } else if (!Arrays.equals(current, counts)) {
+                log.debug("School {} statistics drifted: stored {}, counted {}",
+                        entry.getKey(), Arrays.toString(current), Arrays.toString(counts));
+                jdbcTemplate.update("UPDATE school_statistics SET student_count = ?, teacher_count = ?, " +
+                        "subject_count = ?, class_count = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+                        "WHERE school_id = ?",
+                        counts[0], counts[1], counts[2], counts[3], entry.getKey());
+                changes[DRIFTED]++;
+                corrected.add(entry.getKey());
+            }
+        }
+        return corrected;
+    }
+}
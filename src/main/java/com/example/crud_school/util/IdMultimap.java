@@ -0,0 +1,162 @@
+package com.example.crud_school.util;
+
+import java.util.Arrays;
+
+/**
+ * Maps an ID to a sorted set of member IDs, without boxing: each key owns a slot holding a
+ * sorted {@code int} array of members, found through a {@link LongIntHashMap}. Every
+ * key-member pair carries a count, so a pair added twice (a student enrolled twice in the
+ * same subject) is only gone once it has been removed twice.
+ * <p>
+ * Member IDs must fit in an {@code int}. Not thread-safe; callers guard it with the lock that
+ * protects the data it indexes.
+ */
+public class IdMultimap {
+    
+    private static final int NO_SLOT = -1;
+    private static final int[] EMPTY = new int[0];
+    
+    private final LongIntHashMap slotOfKey = new LongIntHashMap();
+    private int[][] members = new int[16][];
+    private int[][] counts = new int[16][];
+    private int[] sizes = new int[16];
+    // Slots released by keys that lost their last member, reused before new ones are taken
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    
+    public int keyCount() {
+        return slotOfKey.size();
+    }
+    
+    public boolean contains(long key, long member) {
+        if (member < 0 || member > Integer.MAX_VALUE) {
+            return false;
+        }
+        int slot = slotOfKey.getOrDefault(key, NO_SLOT);
+        return slot != NO_SLOT && Arrays.binarySearch(members[slot], 0, sizes[slot], (int) member) >= 0;
+    }
+    
+    /**
+     * Number of distinct members of {@code key}.
+     */
+    public int size(long key) {
+        int slot = slotOfKey.getOrDefault(key, NO_SLOT);
+        return slot != NO_SLOT ? sizes[slot] : 0;
+    }
+    
+    /**
+     * Distinct members of {@code key} in ascending order.
+     */
+    public long[] get(long key) {
+        int slot = slotOfKey.getOrDefault(key, NO_SLOT);
+        if (slot == NO_SLOT) {
+            return new long[0];
+        }
+        long[] result = new long[sizes[slot]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = members[slot][i];
+        }
+        return result;
+    }
+    
+    public void add(long key, long member) {
+        int id = toInt(member);
+        int slot = slotOfKey.getOrDefault(key, NO_SLOT);
+        if (slot == NO_SLOT) {
+            slot = allocateSlot();
+            slotOfKey.put(key, slot);
+        }
+        int size = sizes[slot];
+        int index = Arrays.binarySearch(members[slot], 0, size, id);
+        if (index >= 0) {
+            counts[slot][index]++;
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size == members[slot].length) {
+            int capacity = Math.max(4, size * 2);
+            members[slot] = Arrays.copyOf(members[slot], capacity);
+            counts[slot] = Arrays.copyOf(counts[slot], capacity);
+        }
+        // Members mostly arrive in ID order, so this usually copies nothing
+        System.arraycopy(members[slot], insertAt, members[slot], insertAt + 1, size - insertAt);
+        System.arraycopy(counts[slot], insertAt, counts[slot], insertAt + 1, size - insertAt);
+        members[slot][insertAt] = id;
+        counts[slot][insertAt] = 1;
+        sizes[slot] = size + 1;
+    }
+    
+    /**
+     * Removes one occurrence of the pair, returning whether it was present.
+     */
+    public boolean remove(long key, long member) {
+        int slot = slotOfKey.getOrDefault(key, NO_SLOT);
+        if (slot == NO_SLOT) {
+            return false;
+        }
+        int size = sizes[slot];
+        int index = Arrays.binarySearch(members[slot], 0, size, toInt(member));
+        if (index < 0) {
+            return false;
+        }
+        if (--counts[slot][index] == 0) {
+            System.arraycopy(members[slot], index + 1, members[slot], index, size - index - 1);
+            System.arraycopy(counts[slot], index + 1, counts[slot], index, size - index - 1);
+            sizes[slot] = size - 1;
+            if (size == 1) {
+                removeKey(key);
+            }
+        }
+        return true;
+    }
+    
+    public void removeKey(long key) {
+        int slot = slotOfKey.getOrDefault(key, NO_SLOT);
+        if (slot == NO_SLOT) {
+            return;
+        }
+        slotOfKey.remove(key);
+        members[slot] = null;
+        counts[slot] = null;
+        sizes[slot] = 0;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+    
+    public void clear() {
+        slotOfKey.clear();
+        Arrays.fill(members, null);
+        Arrays.fill(counts, null);
+        Arrays.fill(sizes, 0);
+        freeCount = 0;
+        slotCount = 0;
+    }
+    
+    private int allocateSlot() {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == members.length) {
+                int capacity = slotCount * 2;
+                members = Arrays.copyOf(members, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+            }
+            slot = slotCount++;
+        }
+        members[slot] = EMPTY;
+        counts[slot] = EMPTY;
+        return slot;
+    }
+    
+    private static int toInt(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ID out of range for the multimap: " + id);
+        }
+        return (int) id;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.crud_school.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code long} keys to {@code int} values, without boxing.
+ * Keys are probed linearly in one array and values kept in a parallel array; removal shifts
+ * later entries of the probe run back, so lookups never have to skip tombstones.
+ * <p>
+ * Not thread-safe; callers guard it with the lock that protects the data it indexes.
+ */
+public class LongIntHashMap {
+    
+    private static final int MIN_CAPACITY = 16;
+    
+    // Marks an empty slot; the key 0 itself is stored outside the table
+    private static final long EMPTY = 0L;
+    
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean hasZeroKey;
+    private int zeroValue;
+    
+    public LongIntHashMap() {
+        this(MIN_CAPACITY);
+    }
+    
+    public LongIntHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+    
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+    
+    public boolean containsKey(long key) {
+        return key == EMPTY ? hasZeroKey : keys[slot(key)] != EMPTY;
+    }
+    
+    public int getOrDefault(long key, int defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slot(key);
+        return keys[slot] != EMPTY ? values[slot] : defaultValue;
+    }
+    
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        if (size > (mask + 1) / 2) {
+            rehash((mask + 1) * 2);
+        }
+    }
+    
+    /**
+     * Removes {@code key}, returning whether it was present.
+     */
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            boolean present = hasZeroKey;
+            hasZeroKey = false;
+            return present;
+        }
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            return false;
+        }
+        // Move back every later entry of the run whose home slot is not between the hole and itself
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+        return true;
+    }
+    
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        hasZeroKey = false;
+    }
+    
+    // Slot holding key, or the empty slot where it would be inserted
+    private int slot(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+    
+    private static int hash(long key) {
+        // Sequential IDs would cluster in adjacent slots; the multiply spreads them over the table
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+    
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 2 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
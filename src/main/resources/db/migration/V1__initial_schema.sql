@@ -0,0 +1,122 @@
+-- Initial schema, matching the JPA entity mappings.
+-- Sequences step by 50 to match allocationSize on the entity id generators.
+
+CREATE SEQUENCE school_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE teacher_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE class_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE subject_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE student_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE enrollment_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE schools (
+    id          BIGINT       NOT NULL,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    address     VARCHAR(200),
+    phone       VARCHAR(20),
+    email       VARCHAR(100),
+    CONSTRAINT pk_schools PRIMARY KEY (id),
+    CONSTRAINT uk_schools_name UNIQUE (name)
+);
+
+CREATE TABLE teachers (
+    id            BIGINT       NOT NULL,
+    first_name    VARCHAR(50)  NOT NULL,
+    last_name     VARCHAR(50)  NOT NULL,
+    date_of_birth DATE         NOT NULL,
+    phone         VARCHAR(20),
+    email         VARCHAR(100),
+    address       VARCHAR(200),
+    qualification VARCHAR(100),
+    employee_id   VARCHAR(20),
+    hire_date     DATE         NOT NULL,
+    school_id     BIGINT       NOT NULL,
+    CONSTRAINT pk_teachers PRIMARY KEY (id),
+    CONSTRAINT uk_teachers_employee_id UNIQUE (employee_id),
+    CONSTRAINT fk_teachers_school FOREIGN KEY (school_id) REFERENCES schools (id)
+);
+
+CREATE TABLE classes (
+    id            BIGINT       NOT NULL,
+    name          VARCHAR(50)  NOT NULL,
+    code          VARCHAR(10),
+    description   VARCHAR(500),
+    grade_level   INTEGER      NOT NULL,
+    academic_year INTEGER      NOT NULL,
+    room_number   VARCHAR(20),
+    school_id     BIGINT       NOT NULL,
+    teacher_id    BIGINT,
+    CONSTRAINT pk_classes PRIMARY KEY (id),
+    CONSTRAINT uk_classes_code UNIQUE (code),
+    CONSTRAINT fk_classes_school FOREIGN KEY (school_id) REFERENCES schools (id),
+    CONSTRAINT fk_classes_teacher FOREIGN KEY (teacher_id) REFERENCES teachers (id)
+);
+
+CREATE TABLE subjects (
+    id          BIGINT       NOT NULL,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    code        VARCHAR(10),
+    credits     INTEGER      NOT NULL,
+    school_id   BIGINT       NOT NULL,
+    teacher_id  BIGINT,
+    CONSTRAINT pk_subjects PRIMARY KEY (id),
+    CONSTRAINT uk_subjects_code UNIQUE (code),
+    CONSTRAINT fk_subjects_school FOREIGN KEY (school_id) REFERENCES schools (id),
+    CONSTRAINT fk_subjects_teacher FOREIGN KEY (teacher_id) REFERENCES teachers (id)
+);
+
+CREATE TABLE students (
+    id            BIGINT       NOT NULL,
+    first_name    VARCHAR(50)  NOT NULL,
+    last_name     VARCHAR(50)  NOT NULL,
+    date_of_birth DATE         NOT NULL,
+    phone         VARCHAR(20),
+    email         VARCHAR(100),
+    address       VARCHAR(200),
+    school_id     BIGINT       NOT NULL,
+    class_id      BIGINT,
+    CONSTRAINT pk_students PRIMARY KEY (id),
+    CONSTRAINT fk_students_school FOREIGN KEY (school_id) REFERENCES schools (id),
+    CONSTRAINT fk_students_class FOREIGN KEY (class_id) REFERENCES classes (id)
+);
+
+CREATE TABLE enrollments (
+    id              BIGINT       NOT NULL,
+    enrollment_date DATE         NOT NULL,
+    completion_date DATE,
+    grade           VARCHAR(255),
+    score           FLOAT(53),
+    status          VARCHAR(255),
+    remarks         VARCHAR(255),
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6),
+    student_id      BIGINT       NOT NULL,
+    subject_id      BIGINT       NOT NULL,
+    class_id        BIGINT,
+    CONSTRAINT pk_enrollments PRIMARY KEY (id),
+    CONSTRAINT fk_enrollments_student FOREIGN KEY (student_id) REFERENCES students (id),
+    CONSTRAINT fk_enrollments_subject FOREIGN KEY (subject_id) REFERENCES subjects (id),
+    CONSTRAINT fk_enrollments_class FOREIGN KEY (class_id) REFERENCES classes (id)
+);
+
+-- Foreign keys
+CREATE INDEX idx_teachers_school ON teachers (school_id);
+CREATE INDEX idx_classes_school ON classes (school_id);
+CREATE INDEX idx_classes_teacher ON classes (teacher_id);
+CREATE INDEX idx_subjects_school ON subjects (school_id);
+CREATE INDEX idx_subjects_teacher ON subjects (teacher_id);
+CREATE INDEX idx_students_school ON students (school_id);
+CREATE INDEX idx_students_class ON students (class_id);
+CREATE INDEX idx_enrollments_student ON enrollments (student_id);
+CREATE INDEX idx_enrollments_subject ON enrollments (subject_id);
+CREATE INDEX idx_enrollments_class ON enrollments (class_id);
+
+-- Lookup columns (name, code and employee_id are covered by their unique constraints)
+CREATE INDEX idx_students_email ON students (email);
+CREATE INDEX idx_teachers_email ON teachers (email);
+CREATE INDEX idx_classes_grade_level ON classes (grade_level);
+CREATE INDEX idx_classes_academic_year ON classes (academic_year);
+CREATE INDEX idx_subjects_credits ON subjects (credits);
+CREATE INDEX idx_enrollments_status ON enrollments (status);
+CREATE INDEX idx_enrollments_enrollment_date ON enrollments (enrollment_date);
@@ -0,0 +1,22 @@
+-- Per-school row counts, maintained on every student/teacher/subject/class write so that school
+-- reads do not need COUNT queries. A school's row is deleted just before its transaction
+-- commits, after the school row itself, so there is no foreign key to schools.
+
+CREATE TABLE school_statistics (
+    school_id     BIGINT       NOT NULL,
+    student_count BIGINT       NOT NULL,
+    teacher_count BIGINT       NOT NULL,
+    subject_count BIGINT       NOT NULL,
+    class_count   BIGINT       NOT NULL,
+    updated_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_school_statistics PRIMARY KEY (school_id)
+);
+
+INSERT INTO school_statistics (school_id, student_count, teacher_count, subject_count, class_count, updated_at)
+SELECT s.id,
+       (SELECT COUNT(*) FROM students st WHERE st.school_id = s.id),
+       (SELECT COUNT(*) FROM teachers t WHERE t.school_id = s.id),
+       (SELECT COUNT(*) FROM subjects sub WHERE sub.school_id = s.id),
+       (SELECT COUNT(*) FROM classes c WHERE c.school_id = s.id),
+       CURRENT_TIMESTAMP
+FROM schools s;
@@ -0,0 +1,16 @@
+-- Optimistic-locking versions for every entity, plus the validators behind school ETags and
+-- Last-Modified headers: a school's own version and update time, and a version on its
+-- statistics row that moves whenever the counts do. Defaults keep JDBC inserts that do not
+-- name the columns working.
+
+ALTER TABLE schools ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE schools ADD COLUMN updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE teachers ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE classes ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE subjects ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE students ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE enrollments ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+-- Existing rows start at 1, the value a newly inserted statistics row gets
+ALTER TABLE school_statistics ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+UPDATE school_statistics SET version = 1;
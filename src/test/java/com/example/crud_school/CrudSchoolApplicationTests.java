@@ -1,25 +1,151 @@
 package com.example.crud_school;
 
+import com.example.crud_school.analytics.EnrollmentFilter;
+import com.example.crud_school.analytics.EnrollmentSnapshot;
+import com.example.crud_school.controller.SchoolController;
+import com.example.crud_school.controller.SchoolLinks;
+import com.example.crud_school.controller.SearchController;
+import com.example.crud_school.dto.BulkIngestResultDto;
+import com.example.crud_school.dto.CacheStatisticsDto;
+import com.example.crud_school.dto.EnrollmentDto;
+import com.example.crud_school.dto.EnrollmentStatisticsDto;
+import com.example.crud_school.dto.SchoolDashboardDto;
+import com.example.crud_school.dto.SchoolField;
+import com.example.crud_school.dto.SchoolSummary;
+import com.example.crud_school.entity.Class;
+import com.example.crud_school.entity.Enrollment;
+import com.example.crud_school.entity.School;
+import com.example.crud_school.entity.Student;
+import com.example.crud_school.entity.Subject;
+import com.example.crud_school.entity.Teacher;
+import com.example.crud_school.metrics.QueryBudgetViolations;
+import com.example.crud_school.metrics.QueryStats;
+import com.example.crud_school.relationship.RelationshipIndex;
+import com.example.crud_school.repository.ClassRepository;
+import com.example.crud_school.repository.EnrollmentRepository;
+import com.example.crud_school.repository.SchoolRepository;
+import com.example.crud_school.repository.StudentRepository;
+import com.example.crud_school.repository.SubjectRepository;
+import com.example.crud_school.repository.TeacherRepository;
+import com.example.crud_school.search.EntitySearchIndex;
+import com.example.crud_school.service.AnalyticsService;
+import com.example.crud_school.service.SchoolService;
+import com.example.crud_school.service.SearchService;
+import com.example.crud_school.statistics.SchoolStatisticsReconciler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @TestPropertySource(properties = {
     "spring.datasource.url=jdbc:h2:mem:testdb",
-    "spring.jpa.hibernate.ddl-auto=create-drop"
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    // A second pool on the same database, so read-only routing runs under every test
+    "school.datasource.replica.url=jdbc:h2:mem:testdb"
 })
 class CrudSchoolApplicationTests {
 
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private SchoolLinks schoolLinks;
+
+    @Autowired
+    private QueryBudgetViolations queryBudgetViolations;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private SchoolStatisticsReconciler statisticsReconciler;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private SchoolService schoolService;
+
+    @Autowired
+    private EnrollmentSnapshot enrollmentSnapshot;
+
+    @Autowired
+    private RelationshipIndex relationshipIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private final TestRestTemplate restTemplate = new TestRestTemplate();
 
     @Test
@@ -54,4 +180,878 @@ class CrudSchoolApplicationTests {
         // Should return an empty array or schools list
         assertNotNull(response.getBody());
     }
+
+    @Test
+    void testSchoolsEndpointStaysWithinQueryBudget() {
+        queryBudgetViolations.clear();
+        // Arguments no other test uses, so the page is not served from the SchoolDto cache
+        String url = "http://localhost:" + port + "/api/schools?after=0&size=7";
+        double statementsBefore = statementsRecorded("/api/schools");
+        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(queryBudgetViolations.getViolations().isEmpty(), () -> queryBudgetViolations.getViolations().toString());
+        // A delta, since the meter also holds every other test's requests to the same URI
+        assertEquals(1.0, statementsRecorded("/api/schools") - statementsBefore);
+    }
+
+    @Test
+    void testSchoolPagesFollowNextLinks() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(schoolRepository.save(new School("Paged School " + i, null, null, null, null)).getId());
+        }
+        ObjectMapper mapper = new ObjectMapper();
+
+        // Every school appears exactly once, in ID order, and only the last page has no next link
+        List<Long> seen = new ArrayList<>();
+        String next = "http://localhost:" + port + "/api/schools?size=2";
+        int pages = 0;
+        while (next != null) {
+            JsonNode page = mapper.readTree(restTemplate.getForEntity(next, String.class).getBody());
+            JsonNode schools = page.path("_embedded").path("schools");
+            assertTrue(schools.size() <= 2);
+            schools.forEach(school -> seen.add(school.path("id").asLong()));
+            JsonNode nextLink = page.path("_links").path("next");
+            next = nextLink.isMissingNode() ? null : nextLink.path("href").asText();
+            pages++;
+        }
+        List<Long> expected = schoolRepository.findAll().stream().map(School::getId).sorted().toList();
+        assertEquals(expected, seen);
+        assertTrue(pages >= 4);
+
+        schoolRepository.deleteAllById(created);
+    }
+
+    @Test
+    void testSchoolLinksMatchLinkBuilder() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/schools");
+        request.setServerPort(7070);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            assertEquals(linkTo(methodOn(SchoolController.class).getSchoolById(42L, null, null)).withSelfRel().expand().toString(),
+                    schoolLinks.self(42L).toString());
+            assertEquals(linkTo(SchoolController.class).withRel("schools").toString(),
+                    schoolLinks.collection().toString());
+            assertEquals(linkTo(methodOn(SchoolController.class).getAllSchools(null, null, null, null)).withSelfRel().expand().toString(),
+                    schoolLinks.page(null, null, null, IanaLinkRelations.SELF).toString());
+            assertEquals(linkTo(methodOn(SchoolController.class).getAllSchools(42L, 10, null, null)).withRel(IanaLinkRelations.NEXT).expand().toString(),
+                    schoolLinks.page(42L, 10, null, IanaLinkRelations.NEXT).toString());
+            assertEquals(linkTo(methodOn(SchoolController.class).getAllSchools(42L, 10, "id,name", null)).withRel(IanaLinkRelations.NEXT).expand().toString(),
+                    schoolLinks.page(42L, 10, "id,name", IanaLinkRelations.NEXT).toString());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void testForeignKeysReuseMappedIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = 'PUBLIC'", String.class);
+
+        assertTrue(indexes.containsAll(List.of("IDX_ENROLLMENTS_STUDENT_STATUS", "IDX_ENROLLMENTS_SUBJECT_STATUS",
+                "IDX_STUDENTS_DATE_OF_BIRTH", "IDX_TEACHERS_HIRE_DATE")), indexes::toString);
+        // H2 names the index it adds for a foreign key with no usable index after the constraint
+        assertTrue(indexes.stream().noneMatch(name -> name.startsWith("FK")), indexes::toString);
+    }
+
+    @Test
+    void testSchoolStatisticsFollowWrites() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        School first = transaction.execute(status -> {
+            School school = schoolRepository.save(new School("Statistics First", null, null, null, null));
+            for (int i = 0; i < 2; i++) {
+                Student student = new Student("Stat" + i, "First", LocalDate.of(2010, 1, 1), null, null, null);
+                student.setSchool(school);
+                studentRepository.save(student);
+            }
+            return school;
+        });
+        School second = schoolRepository.save(new School("Statistics Second", null, null, null, null));
+        assertEquals(2L, studentCount(first));
+        assertEquals(0L, studentCount(second));
+
+        transaction.executeWithoutResult(status -> studentRepository
+                .findBySchoolIdAndIdGreaterThanOrderByIdAsc(first.getId(), 0L, Limit.of(1)).get(0)
+                .setSchool(schoolRepository.getReferenceById(second.getId())));
+        assertEquals(1L, studentCount(first));
+        assertEquals(1L, studentCount(second));
+
+        transaction.executeWithoutResult(status -> studentRepository.deleteAll(
+                studentRepository.findBySchoolIdAndIdGreaterThanOrderByIdAsc(second.getId(), 0L, Limit.of(10))));
+        assertEquals(0L, studentCount(second));
+
+        schoolRepository.deleteById(first.getId());
+        schoolRepository.deleteById(second.getId());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM school_statistics WHERE school_id IN (?, ?)",
+                Integer.class, first.getId(), second.getId()));
+        // Every write above went through Hibernate, so the recount finds nothing to correct
+        assertEquals(0, statisticsReconciler.reconcile());
+    }
+
+    @Test
+    void testReconciledStatisticsReplaceTheCachedSchool() throws Exception {
+        School school = schoolRepository.save(new School("Reconciled School", null, null, null, null));
+        Student student = new Student("Reconciled", "Student", LocalDate.of(2010, 1, 1), null, null, null);
+        student.setSchool(school);
+        studentRepository.save(student);
+        // Drift written behind Hibernate's back, as a JDBC load would leave it
+        jdbcTemplate.update("UPDATE school_statistics SET student_count = 99 WHERE school_id = ?", school.getId());
+
+        String url = "http://localhost:" + port + "/api/schools/" + school.getId();
+        assertEquals(99L, cachedStudentCount(school));
+        assertEquals(0.0, statementsReading(school));
+        String driftedETag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+
+        assertTrue(statisticsReconciler.reconcile() >= 1);
+
+        ResponseEntity<String> reconciled = restTemplate.getForEntity(url, String.class);
+        assertEquals(1L, new ObjectMapper().readTree(reconciled.getBody()).path("studentCount").asLong());
+        assertNotEquals(driftedETag, reconciled.getHeaders().getETag());
+        // The new ETag is the current one, so it is answered with a 304
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange(url, HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(reconciled.getHeaders().getETag())), String.class).getStatusCode());
+
+        studentRepository.delete(student);
+        schoolRepository.deleteById(school.getId());
+    }
+
+    @Test
+    void testAssociationReadsKeepAFixedStatementCount() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        School school = schoolRepository.save(new School("Fetch Plan School", null, null, null, null));
+        Class clazz = new Class("Fetch Plan", "FP-1", null, 9, 2024, null);
+        clazz.setSchool(school);
+        Class savedClass = classRepository.save(clazz);
+
+        List<Integer> statements = new ArrayList<>();
+        for (int rows : new int[] {2, 6}) {
+            transaction.executeWithoutResult(status -> {
+                for (int i = (int) subjectRepository.findBySchoolId(school.getId()).size(); i < rows; i++) {
+                    Teacher teacher = new Teacher("Fetch" + i, "Teacher", LocalDate.of(1980, 1, 1), null, null,
+                            null, null, "FP-T" + i, LocalDate.of(2015, 9, 1));
+                    teacher.setSchool(school);
+                    Subject subject = new Subject("Fetch " + i, null, "FP-S" + i, 3);
+                    subject.setSchool(school);
+                    subject.setTeacher(teacherRepository.save(teacher));
+                    Student student = new Student("Fetch" + i, "Student", LocalDate.of(2010, 1, 1), null, null, null);
+                    student.setSchool(school);
+                    enrollmentRepository.save(new Enrollment(studentRepository.save(student),
+                            subjectRepository.save(subject), savedClass));
+                }
+            });
+            statements.add(transaction.execute(status -> {
+                QueryStats.start();
+                List<Enrollment> enrollments = enrollmentRepository.findByClazzId(savedClass.getId());
+                enrollments.forEach(enrollment -> assertNotNull(enrollment.getStudent().getFirstName()));
+                List<Subject> subjects = subjectRepository.findBySchoolId(school.getId());
+                subjects.forEach(subject -> assertNotNull(subject.getTeacher().getFirstName()));
+                assertEquals(rows, enrollments.size());
+                assertEquals(rows, subjects.size());
+                return QueryStats.stop().getStatements();
+            }));
+        }
+        // One statement per query however many rows it returns
+        assertEquals(List.of(2, 2), statements);
+
+        transaction.executeWithoutResult(status -> {
+            enrollmentRepository.deleteAll(enrollmentRepository.findByClazzId(savedClass.getId()));
+            List<Subject> subjects = subjectRepository.findBySchoolId(school.getId());
+            subjectRepository.deleteAll(subjects);
+            teacherRepository.deleteAll(subjects.stream().map(Subject::getTeacher).toList());
+            studentRepository.deleteAll(studentRepository.findBySchoolIdAndIdGreaterThanOrderByIdAsc(school.getId(), 0L, Limit.of(10)));
+            classRepository.deleteById(savedClass.getId());
+        });
+        schoolRepository.deleteById(school.getId());
+    }
+
+    @Test
+    void testEnrollmentStatisticsPerSubject() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        School school = transaction.execute(status -> {
+            School saved = schoolRepository.save(new School("Analytics School", null, null, null, null));
+            Subject subject = new Subject("Analytics", null, "ANL-101", 3);
+            subject.setSchool(saved);
+            subjectRepository.save(subject);
+            String[][] outcomes = {{"COMPLETED", "B", "60"}, {"COMPLETED", "A", "90"}, {"FAILED", "F", "70"}, {"DROPPED", null, null}};
+            for (int i = 0; i < outcomes.length; i++) {
+                Student student = new Student("Analytics" + i, "Student", LocalDate.of(2010, 1, 1), null, null, null);
+                student.setSchool(saved);
+                Enrollment enrollment = new Enrollment(studentRepository.save(student), subject, null);
+                enrollment.setStatus(outcomes[i][0]);
+                enrollment.setGrade(outcomes[i][1]);
+                enrollment.setScore(outcomes[i][2] != null ? Double.valueOf(outcomes[i][2]) : null);
+                enrollmentRepository.save(enrollment);
+            }
+            return saved;
+        });
+
+        try {
+            List<EnrollmentStatisticsDto> statistics = analyticsService.getEnrollmentStatistics(
+                    AnalyticsService.Dimension.SUBJECT, new EnrollmentFilter(school.getId(), null));
+            assertEquals(1, statistics.size());
+            EnrollmentStatisticsDto subject = statistics.get(0);
+            assertEquals("Analytics", subject.getLabel());
+            assertEquals(4, subject.getEnrollments());
+            assertEquals(3, subject.getScored());
+            assertEquals(220.0 / 3, subject.getMeanScore(), 1e-9);
+            assertEquals(70.0, subject.getMedianScore(), 1e-9);
+            assertEquals(65.0, subject.getP25Score(), 1e-9);
+            assertEquals(2.0 / 3, subject.getPassRate(), 1e-9);
+            assertEquals(0.25, subject.getDropRate(), 1e-9);
+            assertEquals(Map.of("A", 1L, "B", 1L, "F", 1L), subject.getGradeDistribution());
+        } finally {
+            transaction.executeWithoutResult(status -> {
+                subjectRepository.findBySchoolId(school.getId()).forEach(subject ->
+                        enrollmentRepository.deleteAll(enrollmentRepository.findBySubjectId(subject.getId())));
+                schoolRepository.deleteById(school.getId());
+            });
+        }
+    }
+
+    @Test
+    void testEnrollmentSnapshotFollowsWrites() {
+        assertTrue(enrollmentSnapshot.isReady());
+        Enrollment first = enrollmentRepository.findAll().get(0);
+        Enrollment copy = new Enrollment(first.getStudent(), first.getSubject(), first.getClazz());
+        copy.setScore(55.0);
+        Long copyId = enrollmentRepository.save(copy).getId();
+        assertSnapshotMatchesDatabase();
+
+        Enrollment saved = enrollmentRepository.findById(copyId).orElseThrow();
+        saved.setStatus("FAILED");
+        saved.setGrade("F");
+        enrollmentRepository.save(saved);
+        assertSnapshotMatchesDatabase();
+
+        enrollmentRepository.deleteById(copyId);
+        assertSnapshotMatchesDatabase();
+    }
+
+    private void assertSnapshotMatchesDatabase() {
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM enrollments", Integer.class), enrollmentSnapshot.size());
+        for (EnrollmentStatisticsDto subject : analyticsService.getEnrollmentStatistics(
+                AnalyticsService.Dimension.SUBJECT, new EnrollmentFilter())) {
+            assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM enrollments WHERE subject_id = ?",
+                    Long.class, subject.getGroupId()), subject.getEnrollments());
+            assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM enrollments WHERE subject_id = ? AND status = 'FAILED'",
+                    Long.class, subject.getGroupId()), subject.getFailed());
+            assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(score) FROM enrollments WHERE subject_id = ?",
+                    Long.class, subject.getGroupId()), subject.getScored());
+            assertEquals(jdbcTemplate.queryForObject("SELECT name FROM subjects WHERE id = ?",
+                    String.class, subject.getGroupId()), subject.getLabel());
+        }
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplicaPool() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        long replicaBefore = connectionsAcquired("replica");
+        readOnly.executeWithoutResult(status -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schools", Long.class));
+        assertTrue(connectionsAcquired("replica") > replicaBefore);
+
+        long primaryBefore = connectionsAcquired("primary");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schools", Long.class));
+        assertTrue(connectionsAcquired("primary") > primaryBefore);
+
+        // Read methods of SchoolService run read-only
+        long replicaBeforeCount = connectionsAcquired("replica");
+        schoolService.getTotalSchoolsCount();
+        assertTrue(connectionsAcquired("replica") > replicaBeforeCount);
+    }
+
+    private long connectionsAcquired(String pool) {
+        return meterRegistry.get("hikaricp.connections.acquire").tag("pool", pool).timer().count();
+    }
+
+    @Test
+    void testSchoolDashboardReadsSectionsInParallel() {
+        Long schoolId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM schools", Long.class);
+        queryBudgetViolations.clear();
+        String url = "http://localhost:" + port + "/api/schools/" + schoolId + "/dashboard";
+        ResponseEntity<SchoolDashboardDto> response = restTemplate.getForEntity(url, SchoolDashboardDto.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        SchoolDashboardDto dashboard = response.getBody();
+        assertNull(dashboard.getIncomplete());
+        assertEquals(schoolId, dashboard.getSchool().getId());
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM teachers WHERE school_id = ?", Integer.class, schoolId),
+                dashboard.getTeachers().size());
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM classes WHERE school_id = ?", Integer.class, schoolId),
+                dashboard.getClasses().size());
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM subjects WHERE school_id = ?", Integer.class, schoolId),
+                dashboard.getSubjects().size());
+        assertNotNull(dashboard.getEnrollmentStatistics());
+        // Statements run on the branch threads are counted against the request
+        assertTrue(queryBudgetViolations.getViolations().isEmpty(), () -> queryBudgetViolations.getViolations().toString());
+        assertTrue(meterRegistry.get("db.request.statements")
+                .tags("method", "GET", "uri", "/api/schools/{id}/dashboard")
+                .summary().max() >= 3);
+
+        ResponseEntity<String> missing = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/schools/" + Long.MAX_VALUE + "/dashboard", String.class);
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+    }
+
+    @Test
+    void testSchoolConditionalRequestsAndOptimisticLocking() {
+        School school = schoolRepository.save(new School("Conditional School", null, "1 Main Street, Etagville", null, null));
+        String url = "http://localhost:" + port + "/api/schools/" + school.getId();
+        ResponseEntity<String> first = restTemplate.getForEntity(url, String.class);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        String eTag = first.getHeaders().getETag();
+        assertNotNull(eTag);
+        assertTrue(first.getHeaders().getLastModified() > 0);
+
+        // A current ETag is answered from the narrow revision query alone
+        double statementsBefore = statementsRecorded("/api/schools/{id}");
+        ResponseEntity<String> unchanged = restTemplate.exchange(url, HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(eTag)), String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertNull(unchanged.getBody());
+        assertEquals(1.0, statementsRecorded("/api/schools/{id}") - statementsBefore);
+
+        // A new student changes the counts, and with them the ETag
+        Student student = new Student("Etag", "Student", LocalDate.of(2010, 1, 1), null, null, null);
+        student.setSchool(school);
+        studentRepository.save(student);
+        ResponseEntity<String> changed = restTemplate.exchange(url, HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(eTag)), String.class);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        String countedETag = changed.getHeaders().getETag();
+        assertNotEquals(eTag, countedETag);
+
+        // Counts are not part of what a PUT writes, so the version first read still matches
+        String version = first.getHeaders().getFirst("School-Version");
+        assertEquals(version, changed.getHeaders().getFirst("School-Version"));
+        Map<String, String> details = Map.of("name", "Conditional School", "address", "2 Main Street, Etagville");
+        ResponseEntity<String> updated = restTemplate.exchange(url, HttpMethod.PUT,
+                new HttpEntity<>(details, schoolVersion(version)), String.class);
+        assertEquals(HttpStatus.OK, updated.getStatusCode());
+        assertNotEquals(countedETag, updated.getHeaders().getETag());
+        assertNotEquals(version, updated.getHeaders().getFirst("School-Version"));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, restTemplate.exchange(url, HttpMethod.PUT,
+                new HttpEntity<>(details, schoolVersion(version)), String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(url, HttpMethod.PUT,
+                new HttpEntity<>(details, schoolVersion("not-a-version")), String.class).getStatusCode());
+        // If-Match compares strongly, so the weak ETags never match it; only * does
+        String currentETag = updated.getHeaders().getETag();
+        assertEquals(HttpStatus.PRECONDITION_FAILED, restTemplate.exchange(url, HttpMethod.PUT,
+                new HttpEntity<>(details, ifMatch(currentETag)), String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.exchange(url, HttpMethod.PUT,
+                new HttpEntity<>(details, ifMatch("*")), String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.exchange(url, HttpMethod.PUT,
+                new HttpEntity<>(details), String.class).getStatusCode());
+
+        String searchUrl = "http://localhost:" + port + "/api/schools/city/Etagville";
+        ResponseEntity<String> search = restTemplate.getForEntity(searchUrl, String.class);
+        assertEquals(HttpStatus.OK, search.getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange(searchUrl, HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(search.getHeaders().getETag())), String.class).getStatusCode());
+
+        schoolRepository.deleteById(school.getId());
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.exchange(url, HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(eTag)), String.class).getStatusCode());
+    }
+
+    @Test
+    void testCachedSchoolsAreEvictedOnlyForTheirOwnStudents() throws Exception {
+        School first = schoolRepository.save(new School("Eviction School One", null, "1 Cache Road", null, null));
+        School second = schoolRepository.save(new School("Eviction School Two", null, "2 Cache Road", null, null));
+        School other = schoolRepository.save(new School("Eviction School Three", null, "3 Cache Road", null, null));
+        assertEquals(0L, cachedStudentCount(first));
+        assertEquals(0L, cachedStudentCount(second));
+        assertEquals(0L, cachedStudentCount(other));
+        assertEquals(0.0, statementsReading(other));
+
+        // Adding a student evicts only that school
+        Student student = new Student("Evicted", "Student", LocalDate.of(2010, 1, 1), null, null, null);
+        student.setSchool(first);
+        student = studentRepository.save(student);
+        assertTrue(statementsReading(first) > 0.0);
+        assertEquals(1L, cachedStudentCount(first));
+        assertEquals(0.0, statementsReading(second));
+        assertEquals(0.0, statementsReading(other));
+
+        // Moving it evicts the school it left and the one it joined
+        student.setSchool(second);
+        student = studentRepository.save(student);
+        assertTrue(statementsReading(first) > 0.0);
+        assertTrue(statementsReading(second) > 0.0);
+        assertEquals(0L, cachedStudentCount(first));
+        assertEquals(1L, cachedStudentCount(second));
+        assertEquals(0.0, statementsReading(other));
+
+        studentRepository.delete(student);
+        schoolRepository.deleteAll(List.of(first, second, other));
+    }
+
+    private long cachedStudentCount(School school) throws Exception {
+        String body = restTemplate.getForObject("http://localhost:" + port + "/api/schools/" + school.getId(), String.class);
+        return new ObjectMapper().readTree(body).path("studentCount").asLong();
+    }
+
+    // Statements run by one unconditional read of the school; none means it was served from the cache
+    private double statementsReading(School school) {
+        double before = statementsRecorded("/api/schools/{id}");
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/schools/" + school.getId(), String.class).getStatusCode());
+        return statementsRecorded("/api/schools/{id}") - before;
+    }
+
+    @Test
+    void testAggregateReadsAnswerMatchingETagsWith304() {
+        Long schoolId = schoolRepository.findAll().get(0).getId();
+        for (String path : List.of("/api/schools/" + schoolId + "/dashboard", "/api/search/students?q=stu",
+                "/api/analytics/enrollments", "/api/relationships/schools/" + schoolId + "/students")) {
+            String url = "http://localhost:" + port + path;
+            ResponseEntity<String> first = restTemplate.getForEntity(url, String.class);
+            assertEquals(HttpStatus.OK, first.getStatusCode(), path);
+            String eTag = first.getHeaders().getETag();
+            assertNotNull(eTag, path);
+            assertTrue(eTag.startsWith("W/"), path);
+
+            ResponseEntity<String> unchanged = restTemplate.exchange(url, HttpMethod.GET,
+                    new HttpEntity<>(ifNoneMatch(eTag)), String.class);
+            assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode(), path);
+            assertNull(unchanged.getBody(), path);
+        }
+
+        // The school endpoints keep their version-based tags
+        String schoolETag = restTemplate.getForEntity("http://localhost:" + port + "/api/schools/" + schoolId, String.class)
+                .getHeaders().getETag();
+        assertTrue(schoolETag.matches("W/\"\\d+\\.\\d+\""), schoolETag);
+    }
+
+    private double statementsRecorded(String uri) {
+        DistributionSummary statements = meterRegistry.find("db.request.statements").tags("method", "GET", "uri", uri).summary();
+        return statements == null ? 0 : statements.totalAmount();
+    }
+
+    private static HttpHeaders ifNoneMatch(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        return headers;
+    }
+
+    private static HttpHeaders ifMatch(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(eTag);
+        return headers;
+    }
+
+    private static HttpHeaders schoolVersion(String version) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("School-Version", version);
+        return headers;
+    }
+
+    @Test
+    void testSchoolsNegotiateBinaryFormatsAndGzip() throws Exception {
+        String url = "http://localhost:" + port + "/api/schools?after=0&size=20";
+        HttpHeaders halJson = new HttpHeaders();
+        halJson.setAccept(List.of(MediaTypes.HAL_JSON));
+        ResponseEntity<String> json = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(halJson), String.class);
+        assertEquals(MediaTypes.HAL_JSON, json.getHeaders().getContentType());
+        JsonNode expected = new ObjectMapper().readTree(json.getBody());
+
+        // The binary bodies keep the HAL structure and share the JSON body's ETag
+        Map<String, ObjectMapper> binaryFormats = Map.of(
+                "application/x-jackson-smile", new SmileMapper(),
+                "application/cbor", new CBORMapper());
+        for (Map.Entry<String, ObjectMapper> format : binaryFormats.entrySet()) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setAccept(List.of(MediaType.parseMediaType(format.getKey())));
+            ResponseEntity<byte[]> binary = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+            assertEquals(format.getKey(), binary.getHeaders().getContentType().toString());
+            assertEquals(expected, format.getValue().readTree(binary.getBody()));
+            assertEquals(json.getHeaders().getETag(), binary.getHeaders().getETag());
+            assertTrue(binary.getBody().length < json.getBody().length());
+        }
+
+        // A plain JDK client, since the test client's request factory may decompress on its own
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).header(HttpHeaders.ACCEPT_ENCODING, "gzip").build();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<byte[]> gzipped = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals("gzip", gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+            try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+                assertEquals(expected, new ObjectMapper().readTree(body));
+            }
+        }
+    }
+
+    @Test
+    void testSchoolsSparseFieldsets() throws Exception {
+        School school = schoolRepository.save(new School("Sparse School", "Not asked for", "1 Main Street, Sparseville", null, null));
+        String url = "http://localhost:" + port + "/api/schools";
+        ObjectMapper mapper = new ObjectMapper();
+
+        // id,name costs one statement, and the body holds only those fields
+        double statementsBefore = statementsRecorded("/api/schools");
+        ResponseEntity<String> page = restTemplate.getForEntity(url + "?fields=id,name&size=20", String.class);
+        assertEquals(HttpStatus.OK, page.getStatusCode());
+        assertEquals(1.0, statementsRecorded("/api/schools") - statementsBefore);
+        JsonNode body = mapper.readTree(page.getBody());
+        assertFalse(body.path("_embedded").path("schools").isEmpty());
+        for (JsonNode item : body.path("_embedded").path("schools")) {
+            assertEquals(List.of("id", "name", "_links"), fieldNames(item));
+        }
+        assertTrue(body.path("_links").path("self").path("href").asText().endsWith("size=20&fields=id%2Cname"));
+
+        String cityUrl = url + "/city/Sparseville?fields=name";
+        JsonNode city = mapper.readTree(restTemplate.getForEntity(cityUrl, String.class).getBody());
+        assertEquals(1, city.size());
+        assertEquals("Sparse School", city.get(0).path("name").asText());
+        assertEquals(List.of("id", "name", "links"), fieldNames(city.get(0)));
+
+        // Counts match the full body when asked for
+        String schoolUrl = url + "/" + school.getId();
+        Student student = new Student("Sparse", "Student", LocalDate.of(2010, 1, 1), null, null, null);
+        student.setSchool(school);
+        studentRepository.save(student);
+        JsonNode full = mapper.readTree(restTemplate.getForEntity(schoolUrl, String.class).getBody());
+        JsonNode counted = mapper.readTree(restTemplate.getForEntity(schoolUrl + "?fields=studentCount,version", String.class).getBody());
+        assertEquals(1, counted.path("studentCount").asLong());
+        assertEquals(full.path("studentCount"), counted.path("studentCount"));
+        assertEquals(full.path("version"), counted.path("version"));
+        assertTrue(counted.path("name").isMissingNode());
+
+        // Without counts the ETag ignores the statistics row, so a new student leaves it current
+        ResponseEntity<String> named = restTemplate.getForEntity(schoolUrl + "?fields=name", String.class);
+        String namedETag = named.getHeaders().getETag();
+        ResponseEntity<String> countedResponse = restTemplate.getForEntity(schoolUrl + "?fields=studentCount", String.class);
+        String countedETag = countedResponse.getHeaders().getETag();
+        Student another = new Student("Another", "Student", LocalDate.of(2010, 1, 1), null, null, null);
+        another.setSchool(school);
+        studentRepository.save(another);
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange(schoolUrl + "?fields=name", HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(namedETag)), String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.exchange(schoolUrl + "?fields=studentCount", HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(countedETag)), String.class).getStatusCode());
+
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(url + "?fields=id,secret", String.class).getStatusCode());
+        schoolRepository.deleteById(school.getId());
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity(schoolUrl + "?fields=name", String.class).getStatusCode());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    @Test
+    void testBlockEndpointNeedsDiagnosticsEnabled() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/test/block?millis=0&connection=true", String.class);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testSyntheticSeedIsReproducible() {
+        // Different parallelism writes schools in a different order; the rows must not change
+        Map<String, String> first = seededTableChecksums("seed-one", 1);
+        Map<String, String> second = seededTableChecksums("seed-two", 3);
+        assertEquals(first, second);
+        assertTrue(first.get("schools").startsWith("6 rows,"));
+        assertFalse(first.get("enrollments").startsWith("0 rows,"));
+    }
+
+    // Row count and a checksum of every row in id order, leaving out the version and update time
+    private static Map<String, String> seededTableChecksums(String database, int parallelism) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CrudSchoolApplication.class)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                     "--spring.datasource.url=jdbc:h2:mem:" + database,
+                     "--spring.jpa.show-sql=false",
+                     // The JCache manager is shared per JVM; closing this context must not close it
+                     "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                     "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                     "--school.seed.mode=synthetic",
+                     "--school.seed.random-seed=7",
+                     "--school.seed.schools=6",
+                     "--school.seed.students-per-school=40",
+                     "--school.seed.enrollments-per-student=3",
+                     "--school.seed.parallelism=" + parallelism,
+                     "--logging.level.root=WARN")) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            Map<String, String> checksums = new TreeMap<>();
+            for (String table : List.of("schools", "teachers", "classes", "subjects", "students", "enrollments")) {
+                List<Map<String, Object>> rows = jdbc.queryForList("SELECT * FROM " + table + " ORDER BY id");
+                int checksum = 1;
+                for (Map<String, Object> row : rows) {
+                    row.keySet().removeIf(column -> column.equalsIgnoreCase("version") || column.equalsIgnoreCase("updated_at"));
+                    checksum = 31 * checksum + row.toString().hashCode();
+                }
+                checksums.put(table, rows.size() + " rows, " + Integer.toHexString(checksum));
+            }
+            return checksums;
+        }
+    }
+
+    @Test
+    void testCityFallbacksIgnoreCase() {
+        School school = schoolRepository.save(new School("Case Fold School", null, "7 Fold Road, Casewick", null, null));
+
+        assertEquals(1, schoolRepository.findByCity("CASEWICK").size());
+        assertEquals(1, schoolRepository.findSummariesByCity("casewick").size());
+        assertEquals(1, schoolRepository.findRevisionsByCity("CaseWick").size());
+        assertEquals(1, schoolRepository.findFieldsByCity(SchoolField.parse("name"), "cASEWICK").size());
+
+        schoolRepository.deleteById(school.getId());
+    }
+
+    @Test
+    void testSearchResultsAreReadAsProjections() throws Exception {
+        School school = schoolRepository.save(new School("Projection School", null, null, null, null));
+        Student student = new Student("Qzprojection", "Student", LocalDate.of(2010, 1, 1), "555-0142", null, null);
+        student.setSchool(school);
+        student = studentRepository.save(student);
+        Teacher teacher = new Teacher("Qzprojection", "Teacher", LocalDate.of(1980, 1, 1), null, null,
+                null, "Physics", "QZ-T1", LocalDate.of(2015, 9, 1));
+        teacher.setSchool(school);
+        teacher = teacherRepository.save(teacher);
+        ObjectMapper mapper = new ObjectMapper();
+
+        double statementsBefore = statementsRecorded("/api/search/students");
+        JsonNode students = mapper.readTree(restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/search/students?q=qzprojection", String.class).getBody());
+        assertEquals(1.0, statementsRecorded("/api/search/students") - statementsBefore);
+        assertEquals(1, students.size());
+        assertEquals(student.getId(), students.get(0).path("id").asLong());
+        assertEquals("555-0142", students.get(0).path("phone").asText());
+        assertEquals(school.getId(), students.get(0).path("schoolId").asLong());
+        // A student without a class is still found, so the class id is not read through an inner join
+        assertFalse(students.get(0).hasNonNull("classId"));
+
+        JsonNode teachers = mapper.readTree(restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/search/teachers?q=qzprojection", String.class).getBody());
+        assertEquals(1, teachers.size());
+        assertEquals("QZ-T1", teachers.get(0).path("employeeId").asText());
+        assertEquals(school.getId(), teachers.get(0).path("schoolId").asLong());
+
+        teacherRepository.delete(teacher);
+        studentRepository.delete(student);
+        schoolRepository.deleteById(school.getId());
+    }
+
+    @Test
+    void testStudentSearchIsUnavailableUntilTheIndexIsBuilt() throws Exception {
+        EntitySearchIndex unbuilt = new EntitySearchIndex(jdbcTemplate);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+                new SearchController(new SearchService(unbuilt, studentRepository, teacherRepository))).build();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/search/students").param("q", "stu"))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+
+        unbuilt.rebuild();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/search/students").param("q", "stu"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/search/students?q=stu", String.class).getStatusCode());
+    }
+
+    @Test
+    void testEnrollmentExportWritesOneLinePerEnrollment() throws Exception {
+        ResponseEntity<String> export = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/enrollments/export", String.class);
+        assertEquals(HttpStatus.OK, export.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, export.getHeaders().getContentType());
+
+        List<Enrollment> enrollments = enrollmentRepository.findAll();
+        Map<Long, Enrollment> byId = new HashMap<>();
+        enrollments.forEach(enrollment -> byId.put(enrollment.getId(), enrollment));
+        String[] lines = export.getBody().split("\n");
+        assertEquals(enrollments.size(), lines.length);
+
+        ObjectMapper mapper = new ObjectMapper();
+        Set<Long> exported = new HashSet<>();
+        for (String line : lines) {
+            JsonNode row = mapper.readTree(line);
+            Enrollment enrollment = byId.get(row.path("id").asLong());
+            assertNotNull(enrollment);
+            assertTrue(exported.add(enrollment.getId()));
+            assertEquals(enrollment.getStudent().getId(), row.path("studentId").asLong());
+            assertEquals(enrollment.getSubject().getId(), row.path("subjectId").asLong());
+            assertEquals(enrollment.getStatus(), row.path("status").asText());
+            assertEquals(enrollment.getEnrollmentDate().toString(), row.path("enrollmentDate").asText());
+        }
+    }
+
+    @Test
+    void testBulkIngestReportsUnknownStudentAndInsertsTheRest() {
+        Long studentId = studentRepository.findAll().get(0).getId();
+        Long subjectId = subjectRepository.findAll().get(0).getId();
+        long before = enrollmentRepository.count();
+        
+        List<EnrollmentDto> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(new EnrollmentDto(null, i == 3 ? Long.MAX_VALUE : studentId, subjectId, null,
+                    LocalDate.of(2001, 1, 1), "ACTIVE"));
+        }
+        ResponseEntity<BulkIngestResultDto> response = restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/enrollments/bulk", rows, BulkIngestResultDto.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        
+        BulkIngestResultDto result = response.getBody();
+        assertEquals(5, result.getReceived());
+        assertEquals(4, result.getInserted());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(3, result.getFailures().get(0).getRow());
+        assertEquals(0, result.getFailures().get(0).getBatch());
+        assertEquals(before + 4, enrollmentRepository.count());
+        
+        List<Enrollment> inserted = enrollmentRepository.findAll().stream()
+                .filter(enrollment -> enrollment.getEnrollmentDate().equals(LocalDate.of(2001, 1, 1))
+                        && enrollment.getStudent().getId().equals(studentId))
+                .toList();
+        assertEquals(4, inserted.size());
+        // The batch clears its persistence context before committing; the post-commit events must still arrive
+        assertSnapshotMatchesDatabase();
+        assertRelationshipsMatchDatabase(studentId, subjectId);
+        for (Enrollment enrollment : inserted) {
+            assertTrue(LongStream.of(relationshipIndex.getEnrollmentsOfStudent(studentId)).anyMatch(id -> id == enrollment.getId()));
+        }
+        
+        enrollmentRepository.deleteAll(inserted);
+        assertSnapshotMatchesDatabase();
+        assertRelationshipsMatchDatabase(studentId, subjectId);
+    }
+    
+    @Test
+    void testBulkIngestStreamsNdjsonAndReportsMalformedInput() {
+        Long studentId = studentRepository.findAll().get(0).getId();
+        Long subjectId = subjectRepository.findAll().get(0).getId();
+        long before = enrollmentRepository.count();
+        
+        String row = "{\"studentId\":" + studentId + ",\"subjectId\":" + subjectId
+                + ",\"enrollmentDate\":\"2002-02-02\",\"status\":\"ACTIVE\"}\n";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        ResponseEntity<BulkIngestResultDto> response = restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/enrollments/bulk",
+                new HttpEntity<>(row + row + row + "{\"studentId\": oops}\n" + row, headers), BulkIngestResultDto.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        
+        BulkIngestResultDto result = response.getBody();
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getInserted());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getFailures().get(0).getRow());
+        assertTrue(result.getFailures().get(0).getMessage().startsWith("Malformed input"));
+        assertEquals(before + 3, enrollmentRepository.count());
+        
+        List<Enrollment> inserted = enrollmentRepository.findAll().stream()
+                .filter(enrollment -> enrollment.getEnrollmentDate().equals(LocalDate.of(2002, 2, 2)))
+                .toList();
+        assertEquals(3, inserted.size());
+        enrollmentRepository.deleteAll(inserted);
+    }
+
+    @Test
+    void testSecondLevelAndQueryCachesServeRepeatedReads() {
+        String region = School.class.getName();
+        Long id = schoolService.createSchool(new School("Cache Probe School", "probe", "1 Cache Street, Probeton",
+                "555-0100", "probe@example.com")).getId();
+        
+        schoolRepository.findById(id).orElseThrow();
+        CacheStatisticsDto.RegionStatistics before = regionStatistics(region);
+        assertEquals("Cache Probe School", schoolRepository.findById(id).orElseThrow().getName());
+        assertTrue(regionStatistics(region).getHits() > before.getHits(), "second read should come from the entity region");
+        
+        School details = new School("Cache Probe School Renamed", "probe", "1 Cache Street, Probeton",
+                "555-0100", "probe@example.com");
+        schoolService.updateSchool(id, details, null).orElseThrow();
+        assertEquals("Cache Probe School Renamed", schoolRepository.findById(id).orElseThrow().getName());
+        
+        assertTrue(schoolService.deleteSchool(id));
+        assertTrue(schoolRepository.findById(id).isEmpty());
+        
+        String code = subjectRepository.findAll().get(0).getCode();
+        subjectRepository.findByCode(code).orElseThrow();
+        long queryHits = cacheStatistics().getQueryHits();
+        assertEquals(code, subjectRepository.findByCode(code).orElseThrow().getCode());
+        assertTrue(cacheStatistics().getQueryHits() > queryHits, "repeated findByCode should hit the query cache");
+        
+        // Clearing every region is a diagnostics endpoint, which the test context leaves unregistered
+        ResponseEntity<Void> evict = restTemplate.exchange("http://localhost:" + port + "/api/cache",
+                HttpMethod.DELETE, null, Void.class);
+        assertTrue(evict.getStatusCode().is4xxClientError());
+    }
+    
+    private CacheStatisticsDto cacheStatistics() {
+        return restTemplate.getForObject("http://localhost:" + port + "/api/cache/statistics", CacheStatisticsDto.class);
+    }
+    
+    private CacheStatisticsDto.RegionStatistics regionStatistics(String region) {
+        return cacheStatistics().getRegions().stream()
+                .filter(statistics -> statistics.getRegion().equals(region))
+                .findFirst().orElseThrow();
+    }
+    
+    @Test
+    void testRelationshipIndexFollowsWrites() {
+        assertTrue(relationshipIndex.isReady());
+        Enrollment first = enrollmentRepository.findAll().get(0);
+        Long studentId = first.getStudent().getId();
+        Long subjectId = first.getSubject().getId();
+        assertRelationshipsMatchDatabase(studentId, subjectId);
+
+        Enrollment copy = new Enrollment(first.getStudent(), first.getSubject(), first.getClazz());
+        Long copyId = enrollmentRepository.save(copy).getId();
+        assertRelationshipsMatchDatabase(studentId, subjectId);
+
+        Student student = studentRepository.findById(studentId).orElseThrow();
+        Class clazz = student.getClazz();
+        student.setClazz(null);
+        student = studentRepository.save(student);
+        assertRelationshipsMatchDatabase(studentId, subjectId);
+        student.setClazz(clazz);
+        studentRepository.save(student);
+
+        // The original enrollment keeps the student in the subject
+        enrollmentRepository.deleteById(copyId);
+        assertRelationshipsMatchDatabase(studentId, subjectId);
+
+        queryBudgetViolations.clear();
+        String url = "http://localhost:" + port + "/api/relationships/students/" + studentId + "/subjects/";
+        assertEquals(HttpStatus.NO_CONTENT, restTemplate.getForEntity(url + subjectId, Void.class).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity(url + Long.MAX_VALUE, Void.class).getStatusCode());
+        assertTrue(queryBudgetViolations.getViolations().isEmpty(), () -> queryBudgetViolations.getViolations().toString());
+    }
+
+    private void assertRelationshipsMatchDatabase(Long studentId, Long subjectId) {
+        Long classId = jdbcTemplate.queryForObject("SELECT class_id FROM students WHERE id = ?", Long.class, studentId);
+        Long schoolId = jdbcTemplate.queryForObject("SELECT school_id FROM students WHERE id = ?", Long.class, studentId);
+        Long teacherId = jdbcTemplate.queryForObject("SELECT teacher_id FROM subjects WHERE id = ?", Long.class, subjectId);
+        assertArrayEquals(ids("SELECT id FROM classes WHERE school_id = ? ORDER BY id", schoolId),
+                relationshipIndex.getClassesOfSchool(schoolId));
+        assertArrayEquals(ids("SELECT s.id FROM students s JOIN classes c ON c.id = s.class_id WHERE c.school_id = ? ORDER BY s.id", schoolId),
+                relationshipIndex.getStudentsOfSchool(schoolId));
+        if (classId != null) {
+            assertArrayEquals(ids("SELECT id FROM students WHERE class_id = ? ORDER BY id", classId),
+                    relationshipIndex.getStudentsOfClass(classId));
+        }
+        if (teacherId != null) {
+            assertArrayEquals(ids("SELECT id FROM subjects WHERE teacher_id = ? ORDER BY id", teacherId),
+                    relationshipIndex.getSubjectsOfTeacher(teacherId));
+        }
+        assertArrayEquals(ids("SELECT DISTINCT subject_id FROM enrollments WHERE student_id = ? ORDER BY subject_id", studentId),
+                relationshipIndex.getSubjectsOfStudent(studentId));
+        assertArrayEquals(ids("SELECT id FROM enrollments WHERE student_id = ? ORDER BY id", studentId),
+                relationshipIndex.getEnrollmentsOfStudent(studentId));
+        assertArrayEquals(ids("SELECT id FROM enrollments WHERE subject_id = ? ORDER BY id", subjectId),
+                relationshipIndex.getEnrollmentsOfSubject(subjectId));
+        assertTrue(relationshipIndex.isEnrolled(studentId, subjectId));
+    }
+
+    private long[] ids(String sql, Long id) {
+        return jdbcTemplate.queryForList(sql, Long.class, id).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private long studentCount(School school) {
+        return schoolRepository.findSummaryById(school.getId()).map(SchoolSummary::studentCount).orElseThrow();
+    }
 }
@@ -0,0 +1,50 @@
+package com.example.crud_school;
+
+import com.example.crud_school.repository.SchoolRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application on a schema built only by the Flyway migrations and checked by
+ * Hibernate, as the prod profile runs, so an entity change without a migration fails here.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:flywaydb",
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    // The JCache manager is shared with the other test context, whose regions hold another database's rows
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class FlywayMigrationTests {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Test
+    void testMigrationsBuildTheSchemaTheEntitiesExpect() {
+        List<MigrationInfo> applied = Arrays.asList(flyway.info().applied());
+        assertEquals(List.of("1", "2", "3", "4"), applied.stream().map(info -> info.getVersion().getVersion()).toList());
+        assertTrue(applied.stream().allMatch(info -> info.getState() == MigrationState.SUCCESS));
+
+        // The sample data was written through the entities onto the migrated tables
+        assertTrue(schoolRepository.count() > 0);
+        assertTrue(schoolRepository.findSummariesAfter(0L, Limit.of(10)).stream()
+                .allMatch(school -> school.studentCount() >= 0));
+    }
+}
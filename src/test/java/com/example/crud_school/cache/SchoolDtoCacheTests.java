@@ -0,0 +1,96 @@
+package com.example.crud_school.cache;
+
+import com.example.crud_school.dto.SchoolDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchoolDtoCacheTests {
+
+    private final SchoolDtoCache cache = new SchoolDtoCache(100, Duration.ofMinutes(5));
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<SchoolDto> first = executor.submit(() -> cache.get("byId:1", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return school(1);
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<SchoolDto> second = executor.submit(() -> cache.get("byId:1", () -> {
+                loads.incrementAndGet();
+                return school(1);
+            }));
+            release.countDown();
+
+            assertEquals(1L, first.get(5, TimeUnit.SECONDS).getId());
+            assertEquals(1L, second.get(5, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testEvictionDuringALoadDoesNotWaitAndDropsTheResult() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<SchoolDto>> load = executor.submit(() -> cache.get("page", () -> {
+                loading.countDown();
+                release.await();
+                return List.of(school(1), school(2));
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // Returns while the load is still blocked in its query
+            executor.submit(() -> cache.evictSchools(Set.of(2L), false)).get(5, TimeUnit.SECONDS);
+            release.countDown();
+
+            // The caller still gets its result, but it is not kept
+            assertEquals(2, load.get(5, TimeUnit.SECONDS).size());
+        }
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testFailedLoadIsNotSharedOrCached() {
+        assertThrows(RuntimeException.class, () -> cache.get("byId:1", () -> {
+            throw new IllegalStateException("database down");
+        }));
+        assertEquals(0, cache.size());
+        assertEquals(1L, cache.get("byId:1", () -> school(1)).getId());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testEvictingASchoolDropsOnlyTheEntriesThatShowIt() {
+        cache.get("byId:1", () -> school(1));
+        cache.get("byId:2", () -> school(2));
+        cache.get("page", () -> List.of(school(1), school(2)));
+        assertEquals(3, cache.size());
+
+        cache.evictSchools(Set.of(1L), false);
+        assertNull(cache.get("byId:1"));
+        assertNull(cache.get("page"));
+        assertNotNull(cache.get("byId:2"));
+    }
+
+    private static SchoolDto school(long id) {
+        return new SchoolDto(id, "School " + id, null, null, null, null);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.crud_school.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NgramIndexTests {
+
+    @Test
+    void testShortQueriesScanForSubstrings() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "Springfield");
+        index.put(2, "Lincoln");
+        index.put(3, "Fairfield");
+
+        assertArrayEquals(new long[] {1, 3}, index.search("fi", 10));
+        assertArrayEquals(new long[] {2}, index.search("LN", 10));
+        assertArrayEquals(new long[] {1, 2, 3}, index.search("i", 10));
+        assertArrayEquals(new long[0], index.search("", 10));
+        assertArrayEquals(new long[0], index.search("zq", 10));
+    }
+
+    @Test
+    void testQueriesFoldCaseAcrossScripts() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "ÉCOLE Zürich");
+        index.put(2, "Школа Москва");
+        index.put(3, "Ecole Zurich");
+
+        assertArrayEquals(new long[] {1}, index.search("école", 10));
+        assertArrayEquals(new long[] {1}, index.search("ZÜRICH", 10));
+        assertArrayEquals(new long[] {2}, index.search("москва", 10));
+        assertArrayEquals(new long[] {2}, index.search("ШК", 10));
+        // Case is folded, accents are not
+        assertArrayEquals(new long[] {3}, index.search("ecole", 10));
+    }
+
+    @Test
+    void testPutReplacesThePreviousText() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "Oak Avenue");
+        index.put(1, "Elm Street");
+
+        assertArrayEquals(new long[0], index.search("oak", 10));
+        assertArrayEquals(new long[0], index.search("oa", 10));
+        assertArrayEquals(new long[] {1}, index.search("elm", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testRemoveDropsTheDocument() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "Main Street");
+        index.put(2, "Main Road");
+
+        index.remove(1);
+        assertArrayEquals(new long[] {2}, index.search("main", 10));
+        assertArrayEquals(new long[0], index.search("street", 10));
+        assertEquals(1, index.size());
+
+        // A null text removes too, and removing a missing document is a no-op
+        index.put(2, null);
+        index.remove(3);
+        assertArrayEquals(new long[0], index.search("main", 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testSearchStopsAtTheLimit() {
+        NgramIndex index = new NgramIndex();
+        for (long id = 1; id <= 10; id++) {
+            index.put(id, "School " + id);
+        }
+
+        assertArrayEquals(new long[] {1, 2, 3}, index.search("school", 3));
+        assertArrayEquals(new long[] {1, 2}, index.search("sc", 2));
+        assertArrayEquals(new long[0], index.search("school", 0));
+        assertEquals(10, index.search("school", 100).length);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.crud_school.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdMultimapTests {
+
+    @Test
+    void testMembersAreKeptSortedAndDistinct() {
+        IdMultimap map = new IdMultimap();
+        map.add(1, 30);
+        map.add(1, 10);
+        map.add(1, 20);
+        map.add(1, 10);
+
+        assertArrayEquals(new long[] {10, 20, 30}, map.get(1));
+        assertEquals(3, map.size(1));
+        assertTrue(map.contains(1, 20));
+        assertFalse(map.contains(1, 15));
+        assertFalse(map.contains(2, 10));
+        assertArrayEquals(new long[0], map.get(2));
+    }
+
+    @Test
+    void testDuplicatedPairIsGoneOnlyAfterTwoRemovals() {
+        IdMultimap map = new IdMultimap();
+        map.add(7, 100);
+        map.add(7, 100);
+
+        assertTrue(map.remove(7, 100));
+        assertTrue(map.contains(7, 100));
+        assertEquals(1, map.keyCount());
+
+        assertTrue(map.remove(7, 100));
+        assertFalse(map.contains(7, 100));
+        assertEquals(0, map.keyCount());
+        assertFalse(map.remove(7, 100));
+    }
+
+    @Test
+    void testSlotsReleasedByRemoveKeyAreReusedClean() {
+        IdMultimap map = new IdMultimap();
+        map.add(1, 10);
+        map.add(1, 11);
+        map.add(2, 20);
+        map.removeKey(1);
+        assertEquals(1, map.keyCount());
+        assertArrayEquals(new long[0], map.get(1));
+
+        // Key 3 takes the slot key 1 released, without inheriting its members or counts
+        map.add(3, 30);
+        assertArrayEquals(new long[] {30}, map.get(3));
+        assertFalse(map.contains(3, 10));
+        assertTrue(map.remove(3, 30));
+        assertEquals(0, map.size(3));
+        assertArrayEquals(new long[] {20}, map.get(2));
+
+        map.removeKey(42);
+        assertEquals(1, map.keyCount());
+    }
+
+    @Test
+    void testManyKeysGrowTheSlotArrays() {
+        IdMultimap map = new IdMultimap();
+        for (long key = 0; key < 100; key++) {
+            map.add(key, key * 2);
+            map.add(key, key * 2 + 1);
+        }
+        for (long key = 0; key < 100; key += 3) {
+            map.removeKey(key);
+        }
+        for (long key = 100; key < 120; key++) {
+            map.add(key, 1);
+        }
+        assertEquals(100 - 34 + 20, map.keyCount());
+        assertArrayEquals(new long[] {2, 3}, map.get(1));
+        assertArrayEquals(new long[] {1}, map.get(119));
+        assertArrayEquals(new long[0], map.get(99));
+    }
+
+    @Test
+    void testMembersOutsideTheIntRangeAreRejected() {
+        IdMultimap map = new IdMultimap();
+        assertThrows(IllegalArgumentException.class, () -> map.add(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> map.add(1, Integer.MAX_VALUE + 1L));
+        assertFalse(map.contains(1, Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.crud_school.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTests {
+
+    // A new map has 16 slots
+    private static final int MASK = 15;
+
+    @Test
+    void testRemovalInsideARunThatWrapsAroundTheTable() {
+        List<Long> lastSlot = keysWithHome(MASK, 3);
+        List<Long> firstSlot = keysWithHome(0, 2);
+        LongIntHashMap map = new LongIntHashMap();
+        // Fills slots 15, 0 and 1 with keys homed at 15, then 2 and 3 with keys homed at 0
+        for (int i = 0; i < 3; i++) {
+            map.put(lastSlot.get(i), i);
+        }
+        map.put(firstSlot.get(0), 10);
+        map.put(firstSlot.get(1), 11);
+
+        assertTrue(map.remove(lastSlot.get(0)));
+        assertFalse(map.containsKey(lastSlot.get(0)));
+        assertEquals(1, map.getOrDefault(lastSlot.get(1), -1));
+        assertEquals(2, map.getOrDefault(lastSlot.get(2), -1));
+        assertEquals(10, map.getOrDefault(firstSlot.get(0), -1));
+        assertEquals(11, map.getOrDefault(firstSlot.get(1), -1));
+
+        // Removing from the wrapped part must not strand the keys homed at slot 0
+        assertTrue(map.remove(lastSlot.get(2)));
+        assertEquals(10, map.getOrDefault(firstSlot.get(0), -1));
+        assertEquals(11, map.getOrDefault(firstSlot.get(1), -1));
+        assertTrue(map.remove(firstSlot.get(0)));
+        assertEquals(11, map.getOrDefault(firstSlot.get(1), -1));
+        assertEquals(2, map.size());
+        assertFalse(map.remove(lastSlot.get(0)));
+    }
+
+    @Test
+    void testRemoveThenAddAgainAfterRehash() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key = 1; key <= 200; key++) {
+            map.put(key, (int) key);
+        }
+        for (long key = 1; key <= 200; key += 2) {
+            assertTrue(map.remove(key));
+        }
+        assertEquals(100, map.size());
+        for (long key = 1; key <= 200; key += 2) {
+            assertFalse(map.containsKey(key));
+            map.put(key, (int) -key);
+        }
+        assertEquals(200, map.size());
+        for (long key = 1; key <= 200; key++) {
+            assertEquals(key % 2 == 1 ? (int) -key : (int) key, map.getOrDefault(key, 0));
+        }
+    }
+
+    @Test
+    void testZeroKeyIsStoredOutsideTheTable() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.getOrDefault(0, -1));
+
+        map.put(0, 7);
+        map.put(5, 8);
+        assertTrue(map.containsKey(0));
+        assertEquals(7, map.getOrDefault(0, -1));
+        assertEquals(2, map.size());
+
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertEquals(1, map.size());
+        assertEquals(8, map.getOrDefault(5, -1));
+
+        map.put(0, 9);
+        map.clear();
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testMatchesAHashMapUnderRandomPutsAndRemoves() {
+        Random random = new Random(42);
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            // A small key range keeps the runs long and the removals frequent
+            long key = random.nextInt(300) - 10;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = -10; key < 290; key++) {
+            assertEquals(expected.getOrDefault(key, -1), map.getOrDefault(key, -1));
+        }
+    }
+
+    // Keys whose home slot in a 16-slot table is slot, using the map's hash
+    private static List<Long> keysWithHome(int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            if (((int) (mixed ^ (mixed >>> 32)) & MASK) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}